@@ -0,0 +1,51 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingNearestDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookingMapperBenchmark {
+    @Param({"42"})
+    private long seed;
+
+    private Booking booking;
+
+    @Setup
+    public void setUp() {
+        SyntheticData data = new SyntheticData(seed);
+        List<User> users = data.users(10);
+        booking = data.bookings(data.items(1, users.get(0)), 1, users).get(0);
+    }
+
+    @Benchmark
+    public BookingResponseDto toBookingResponseDto() {
+        return BookingMapper.toBookingResponseDto(booking);
+    }
+
+    @Benchmark
+    public BookingNearestDto toBookingNearest() {
+        return BookingMapper.toBookingNearest(booking);
+    }
+}
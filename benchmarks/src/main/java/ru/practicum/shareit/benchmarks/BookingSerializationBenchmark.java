@@ -0,0 +1,61 @@
+package ru.practicum.shareit.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookingSerializationBenchmark {
+    @Param({"10", "100", "1000"})
+    private int bookings;
+    @Param({"42"})
+    private long seed;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private List<Booking> bookingGraph;
+    private List<BookingResponseDto> bookingDtos;
+
+    @Setup
+    public void setUp() {
+        SyntheticData data = new SyntheticData(seed);
+        List<User> users = data.users(100);
+        bookingGraph = data.bookings(data.items(bookings, users.get(0)), 1, users);
+        bookingDtos = bookingGraph.stream()
+                .map(BookingMapper::toBookingResponseDto)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public byte[] serializeBookingGraph() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(bookingGraph);
+    }
+
+    @Benchmark
+    public byte[] serializeBookingResponseDtos() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(bookingDtos);
+    }
+}
@@ -0,0 +1,62 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingNearestDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.dto.CommentMapperImpl;
+import ru.practicum.shareit.item.dto.ExtendedItemResponseDto;
+import ru.practicum.shareit.item.dto.ItemMapper;
+import ru.practicum.shareit.item.dto.ItemMapperImpl;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemMapperBenchmark {
+    @Param({"0", "10", "100"})
+    private int comments;
+    @Param({"42"})
+    private long seed;
+
+    private final ItemMapper itemMapper = new ItemMapperImpl(new CommentMapperImpl());
+    private Item item;
+    private BookingNearestDto lastBooking;
+    private BookingNearestDto nextBooking;
+    private List<Comment> itemComments;
+
+    @Setup
+    public void setUp() {
+        SyntheticData data = new SyntheticData(seed);
+        List<User> users = data.users(10);
+        List<Item> items = data.items(1, users.get(0));
+        item = items.get(0);
+        List<Booking> bookings = data.bookings(items, 2, users);
+        lastBooking = BookingMapper.toBookingNearest(bookings.get(0));
+        nextBooking = BookingMapper.toBookingNearest(bookings.get(1));
+        itemComments = data.comments(items, comments, users);
+    }
+
+    @Benchmark
+    public ExtendedItemResponseDto toExtendedItemResponseDto() {
+        return itemMapper.toExtendedItemResponseDto(item, lastBooking, nextBooking, itemComments);
+    }
+}
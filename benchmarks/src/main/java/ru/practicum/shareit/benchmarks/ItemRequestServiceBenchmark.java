@@ -0,0 +1,81 @@
+package ru.practicum.shareit.benchmarks;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.cache.LocalCacheProperties;
+import ru.practicum.shareit.item.dto.CommentMapperImpl;
+import ru.practicum.shareit.item.dto.ItemMapperImpl;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.request.dto.ItemRequestMapperImpl;
+import ru.practicum.shareit.request.dto.ItemRequestWithItemsDto;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.request.service.ItemRequestServiceImpl;
+import ru.practicum.shareit.request.storage.ItemRequestRepository;
+import ru.practicum.shareit.user.dto.UserMapperImpl;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserCache;
+import ru.practicum.shareit.user.storage.UserRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemRequestServiceBenchmark {
+    @Param({"20", "200", "2000"})
+    private int requests;
+    @Param({"3"})
+    private int itemsPerRequest;
+    @Param({"42"})
+    private long seed;
+
+    private ItemRequestService itemRequestService;
+    private Long requesterId;
+
+    @Setup
+    public void setUp() {
+        SyntheticData data = new SyntheticData(seed);
+        List<User> users = data.users(2);
+        User requester = users.get(0);
+        List<ItemRequest> ownRequests = data.requests(requests, requester);
+        List<Item> items = new ArrayList<>(requests * itemsPerRequest);
+        for (ItemRequest request : ownRequests) {
+            items.addAll(data.items(itemsPerRequest, users.get(1), request));
+        }
+        UserRepository userRepository = RepositoryStubs.stub(UserRepository.class,
+                Map.of("findById", Optional.of(requester)));
+        ItemRequestRepository itemRequestRepository = RepositoryStubs.stub(ItemRequestRepository.class,
+                Map.of("findAllByRequesterId", ownRequests));
+        ItemRepository itemRepository = RepositoryStubs.stub(ItemRepository.class,
+                Map.of("findAllByRequestIdIn", items));
+        UserCache userCache = new UserCache(userRepository, new UserMapperImpl(), new LocalCacheProperties(),
+                new SimpleMeterRegistry());
+        itemRequestService = new ItemRequestServiceImpl(itemRequestRepository, userRepository, userCache,
+                itemRepository, new ItemRequestMapperImpl(), new ItemMapperImpl(new CommentMapperImpl()));
+        requesterId = requester.getId();
+    }
+
+    @Benchmark
+    public List<ItemRequestWithItemsDto> getAllOwn() {
+        return itemRequestService.getAllOwn(requesterId);
+    }
+}
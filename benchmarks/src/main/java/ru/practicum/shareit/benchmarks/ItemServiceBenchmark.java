@@ -0,0 +1,70 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.SliceImpl;
+import ru.practicum.shareit.booking.storage.BookingRepository;
+import ru.practicum.shareit.item.dto.CommentMapperImpl;
+import ru.practicum.shareit.item.dto.ExtendedItemResponseDto;
+import ru.practicum.shareit.item.dto.ItemMapperImpl;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.item.service.ItemServiceImpl;
+import ru.practicum.shareit.item.storage.CommentRepository;
+import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemServiceBenchmark {
+    @Param({"20", "200", "2000"})
+    private int items;
+    @Param({"10"})
+    private int bookingsPerItem;
+    @Param({"5"})
+    private int commentsPerItem;
+    @Param({"42"})
+    private long seed;
+
+    private ItemService itemService;
+    private Long ownerId;
+
+    @Setup
+    public void setUp() {
+        SyntheticData data = new SyntheticData(seed);
+        List<User> users = data.users(100);
+        User owner = users.get(0);
+        List<Item> ownerItems = data.items(items, owner);
+        ItemRepository itemRepository = RepositoryStubs.stub(ItemRepository.class,
+                Map.of("findAllByOwnerId", new SliceImpl<>(ownerItems)));
+        BookingRepository bookingRepository = RepositoryStubs.stub(BookingRepository.class,
+                Map.of("findLastAndNextByItemIdInAndStatus", data.bookings(ownerItems, bookingsPerItem, users)));
+        CommentRepository commentRepository = RepositoryStubs.stub(CommentRepository.class,
+                Map.of("findAllByItemIdIn", data.comments(ownerItems, commentsPerItem, users)));
+        itemService = new ItemServiceImpl(itemRepository, null, null, bookingRepository, commentRepository, null,
+                new ItemMapperImpl(new CommentMapperImpl()), null, null, null);
+        ownerId = owner.getId();
+    }
+
+    @Benchmark
+    public List<ExtendedItemResponseDto> getAllOwnerItems() {
+        return itemService.getAllOwnerItems(ownerId, 0, items);
+    }
+}
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.benchmarks;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+
+public class RepositoryStubs {
+    private RepositoryStubs() {
+    }
+
+    public static <T> T stub(Class<T> repositoryType, Map<String, Object> results) {
+        return repositoryType.cast(Proxy.newProxyInstance(repositoryType.getClassLoader(),
+                new Class<?>[]{repositoryType},
+                (proxy, method, args) -> {
+                    if (!results.containsKey(method.getName())) {
+                        throw new UnsupportedOperationException(repositoryType.getSimpleName() + "."
+                                + method.getName() + " is not stubbed");
+                    }
+                    return results.get(method.getName());
+                }));
+    }
+}
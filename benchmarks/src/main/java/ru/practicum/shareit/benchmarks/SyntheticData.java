@@ -0,0 +1,112 @@
+package ru.practicum.shareit.benchmarks;
+
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class SyntheticData {
+    private final Random random;
+    private final LocalDateTime now = LocalDateTime.now();
+    private long nextId = 1;
+
+    public SyntheticData(long seed) {
+        this.random = new Random(seed);
+    }
+
+    public List<User> users(int count) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long id = nextId++;
+            users.add(User.builder()
+                    .id(id)
+                    .name("User" + id + " name")
+                    .email("user" + id + "@email.ru")
+                    .build());
+        }
+        return users;
+    }
+
+    public List<ItemRequest> requests(int count, User requester) {
+        List<ItemRequest> requests = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long id = nextId++;
+            requests.add(ItemRequest.builder()
+                    .id(id)
+                    .description("Request" + id + " " + text(40))
+                    .requester(requester)
+                    .created(now.minusMinutes(random.nextInt(100_000)))
+                    .build());
+        }
+        return requests;
+    }
+
+    public List<Item> items(int count, User owner) {
+        return items(count, owner, null);
+    }
+
+    public List<Item> items(int count, User owner, ItemRequest request) {
+        List<Item> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long id = nextId++;
+            items.add(Item.builder()
+                    .id(id)
+                    .name("Item" + id + " name")
+                    .description(text(80))
+                    .available(random.nextBoolean())
+                    .owner(owner)
+                    .request(request)
+                    .build());
+        }
+        return items;
+    }
+
+    public List<Booking> bookings(List<Item> items, int perItem, List<User> bookers) {
+        List<Booking> bookings = new ArrayList<>(items.size() * perItem);
+        for (Item item : items) {
+            for (int i = 0; i < perItem; i++) {
+                LocalDateTime start = now.plusHours(random.nextInt(20_000) - 10_000);
+                bookings.add(Booking.builder()
+                        .id(nextId++)
+                        .start(start)
+                        .end(start.plusHours(1 + random.nextInt(72)))
+                        .item(item)
+                        .booker(bookers.get(random.nextInt(bookers.size())))
+                        .status(BookingStatus.APPROVED)
+                        .build());
+            }
+        }
+        return bookings;
+    }
+
+    public List<Comment> comments(List<Item> items, int perItem, List<User> authors) {
+        List<Comment> comments = new ArrayList<>(items.size() * perItem);
+        for (Item item : items) {
+            for (int i = 0; i < perItem; i++) {
+                comments.add(Comment.builder()
+                        .id(nextId++)
+                        .text(text(120))
+                        .item(item)
+                        .author(authors.get(random.nextInt(authors.size())))
+                        .created(now.minusMinutes(random.nextInt(100_000)))
+                        .build());
+            }
+        }
+        return comments;
+    }
+
+    private String text(int length) {
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            text.append(random.nextInt(6) == 0 ? ' ' : (char) ('a' + random.nextInt(26)));
+        }
+        return text.toString();
+    }
+}
@@ -1,75 +1,119 @@
 package ru.practicum.shareit.booking;
 
+import org.apache.http.conn.ConnectionReleaseTrigger;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
-import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestTemplate;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ShareItServerClientFactory;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.ValidationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
 import java.util.Map;
 
 @Service
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
+    private final RestTemplate streamingRest;
+
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public BookingClient(ShareItServerClientFactory clientFactory) {
+        super(clientFactory, API_PREFIX, null);
+        this.streamingRest = clientFactory.streamingRestTemplate(API_PREFIX);
     }
 
-    public ResponseEntity<Object> bookItem(long userId, BookItemRequestDto requestDto) {
+    public Object bookItem(long userId, BookItemRequestDto requestDto) {
         if (!requestDto.getStart().isBefore(requestDto.getEnd())) {
             throw new ValidationException("Invalid booking datetime!");
         }
         return post("", userId, requestDto);
     }
 
-    public ResponseEntity<Object> confirmBooking(long bookingId, boolean approved, long userId) {
+    public Object confirmBooking(long bookingId, boolean approved, long userId) {
         String path = "/" + bookingId + "?approved={approved}";
         Map<String, Object> parameters = Map.of("approved", approved);
         return patch(path, userId, parameters, null);
     }
 
-    public ResponseEntity<Object> getBooking(long userId, Long bookingId) {
+    public Object getBooking(long userId, Long bookingId) {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> getBookings(long userId, String state, Integer fromElement, Integer size) {
-        BookingState.from(state)
-                .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + state));
-        if (fromElement % size != 0) {
-            throw new ValidationException("Element index and page size mismatch!");
+    public Object getBookings(long userId, String state, Integer fromElement, Integer size,
+                                                     String cursor) {
+        return getByState("", userId, state, fromElement, size, cursor);
+    }
+
+    public Object getAllByOwnerIdAndState(long userId, String state, Integer fromElement, Integer size,
+                                                                String cursor) {
+        return getByState("/owner", userId, state, fromElement, size, cursor);
+    }
+
+    public void exportByOwnerId(long userId, String format, HttpServletResponse response) throws IOException {
+        try {
+            streamingRest.execute("/owner/export?format={format}", HttpMethod.GET,
+                    request -> {
+                        request.getHeaders().setAccept(List.of(MediaType.ALL));
+                        request.getHeaders().set("X-Sharer-User-Id", String.valueOf(userId));
+                    },
+                    serverResponse -> {
+                        response.setStatus(serverResponse.getRawStatusCode());
+                        copyHeader(serverResponse.getHeaders(), HttpHeaders.CONTENT_TYPE, response);
+                        copyHeader(serverResponse.getHeaders(), HttpHeaders.CONTENT_DISPOSITION, response);
+                        InputStream body = serverResponse.getBody();
+                        try {
+                            StreamUtils.copy(body, response.getOutputStream());
+                        } catch (IOException e) {
+                            // closing would drain the rest of the export, drop the server connection instead
+                            if (body instanceof ConnectionReleaseTrigger) {
+                                ((ConnectionReleaseTrigger) body).abortConnection();
+                            }
+                            throw e;
+                        }
+                        return null;
+                    },
+                    Map.of("format", format));
+        } catch (HttpStatusCodeException e) {
+            response.setStatus(e.getRawStatusCode());
+            copyHeader(e.getResponseHeaders(), HttpHeaders.CONTENT_TYPE, response);
+            response.getOutputStream().write(e.getResponseBodyAsByteArray());
+        }
+    }
+
+    private static void copyHeader(HttpHeaders headers, String name, HttpServletResponse response) {
+        if (headers != null && headers.getFirst(name) != null) {
+            response.setHeader(name, headers.getFirst(name));
         }
-        Map<String, Object> parameters = Map.of(
-                "state", state,
-                "from", fromElement,
-                "size", size
-        );
-        return get("?state={state}&from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getAllByOwnerIdAndState(long userId, String state, Integer fromElement, Integer size) {
+    private Object getByState(String path, long userId, String state, Integer fromElement, Integer size,
+                                                     String cursor) {
         BookingState.from(state)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + state));
-        if (fromElement % size != 0) {
-            throw new ValidationException("Element index and page size mismatch!");
+        if (cursor != null) {
+            Map<String, Object> parameters = Map.of(
+                    "state", state,
+                    "cursor", cursor,
+                    "size", size
+            );
+            return get(path + "?state={state}&cursor={cursor}&size={size}", userId, parameters);
         }
         Map<String, Object> parameters = Map.of(
                 "state", state,
                 "from", fromElement,
                 "size", size
         );
-        return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
+        return get(path + "?state={state}&from={from}&size={size}", userId, parameters);
     }
 }
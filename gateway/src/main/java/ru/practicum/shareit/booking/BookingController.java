@@ -2,16 +2,18 @@ package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import javax.validation.constraints.Min;
+import javax.validation.constraints.Pattern;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.io.IOException;
 
 @Controller
 @RequestMapping(path = "/bookings")
@@ -22,42 +24,53 @@ public class BookingController {
 	private final BookingClient bookingClient;
 
 	@PostMapping
-	public ResponseEntity<Object> bookItem(@RequestHeader("X-Sharer-User-Id") long userId,
+	public Object bookItem(@RequestHeader("X-Sharer-User-Id") long userId,
 										   @RequestBody @Valid BookItemRequestDto requestDto) {
 		log.info("Creating booking {}, userId={}", requestDto, userId);
 		return bookingClient.bookItem(userId, requestDto);
 	}
 
 	@PatchMapping("/{bookingId}")
-	public ResponseEntity<Object> confirmBooking(@PathVariable Long bookingId,
+	public Object confirmBooking(@PathVariable Long bookingId,
 								  @RequestParam boolean approved,
 								  @RequestHeader("X-Sharer-User-Id") Long userId) {
 		return bookingClient.confirmBooking(bookingId, approved, userId);
 	}
 
 	@GetMapping("/{bookingId}")
-	public ResponseEntity<Object> getBooking(@RequestHeader("X-Sharer-User-Id") long userId,
+	public Object getBooking(@RequestHeader("X-Sharer-User-Id") long userId,
 											 @PathVariable Long bookingId) {
 		log.info("Get booking {}, userId={}", bookingId, userId);
 		return bookingClient.getBooking(userId, bookingId);
 	}
 
 	@GetMapping
-	public ResponseEntity<Object> getBookings(
+	public Object getBookings(
 			@RequestHeader("X-Sharer-User-Id") long userId,
 			@RequestParam(defaultValue = "all") String state,
 			@PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-			@Positive @RequestParam(name = "size", defaultValue = "20") Integer size) {
-		log.info("Get booking with state {}, userId={}, from={}, size={}", state, userId, from, size);
-		return bookingClient.getBookings(userId, state, from, size);
+			@Positive @RequestParam(name = "size", defaultValue = "20") Integer size,
+			@RequestParam(required = false) String cursor) {
+		log.info("Get booking with state {}, userId={}, from={}, size={}, cursor={}", state, userId, from, size, cursor);
+		return bookingClient.getBookings(userId, state, from, size, cursor);
 	}
 
 	@GetMapping("/owner")
-	public ResponseEntity<Object> getAllByOwnerIdAndState(
+	public Object getAllByOwnerIdAndState(
 			@RequestHeader("X-Sharer-User-Id") Long userId,
 			@RequestParam(defaultValue = "ALL") String state,
 			@RequestParam(defaultValue = "0") @Min(0) Integer from,
-			@RequestParam(defaultValue = "20") @Min(1) Integer size) {
-		return bookingClient.getAllByOwnerIdAndState(userId, state, from, size);
+			@RequestParam(defaultValue = "20") @Min(1) Integer size,
+			@RequestParam(required = false) String cursor) {
+		return bookingClient.getAllByOwnerIdAndState(userId, state, from, size, cursor);
+	}
+
+	@GetMapping("/owner/export")
+	public void exportByOwnerId(@RequestHeader("X-Sharer-User-Id") Long userId,
+								@RequestParam(defaultValue = "ndjson")
+								@Pattern(regexp = "(?i)ndjson|csv", message = "Unknown export format") String format,
+								HttpServletResponse response) throws IOException {
+		log.info("Export bookings of owner {} as {}", userId, format);
+		bookingClient.exportByOwnerId(userId, format, response);
 	}
 }
@@ -4,91 +4,161 @@ import org.springframework.http.*;
 import org.springframework.lang.Nullable;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 
 import java.util.List;
 import java.util.Map;
 
 public class BaseClient {
     protected final RestTemplate rest;
+    @Nullable
+    private final WebClient webClient;
+    @Nullable
+    private final ResponseCache responseCache;
+    private final Class<Object> responseType;
 
     public BaseClient(RestTemplate rest) {
+        this(rest, null, null, false);
+    }
+
+    public BaseClient(ShareItServerClientFactory clientFactory, String apiPrefix, @Nullable ResponseCache responseCache) {
+        this(clientFactory.restTemplate(apiPrefix), clientFactory.webClient(apiPrefix), responseCache,
+                clientFactory.isPassthrough());
+    }
+
+    @SuppressWarnings("unchecked")
+    public BaseClient(RestTemplate rest, @Nullable WebClient webClient, @Nullable ResponseCache responseCache,
+                      boolean passthrough) {
         this.rest = rest;
+        this.webClient = webClient;
+        this.responseCache = responseCache;
+        this.responseType = (Class<Object>) (passthrough ? byte[].class : Object.class);
     }
 
-    protected ResponseEntity<Object> get(String path) {
+    protected Object get(String path) {
         return get(path, null, null);
     }
 
-    protected ResponseEntity<Object> get(String path, long userId) {
+    protected Object get(String path, long userId) {
         return get(path, userId, null);
     }
 
-    protected ResponseEntity<Object> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
+    protected Object get(String path, Long userId, @Nullable Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, T body) {
+    protected <T> Object post(String path, T body) {
         return post(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, long userId, T body) {
+    protected <T> Object post(String path, long userId, T body) {
         return post(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> Object post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, T body) {
+    protected <T> Object put(String path, long userId, T body) {
         return put(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> Object put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.PUT, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, T body) {
+    protected <T> Object patch(String path, T body) {
         return patch(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId) {
+    protected <T> Object patch(String path, long userId) {
         return patch(path, userId, null, null);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId, T body) {
+    protected <T> Object patch(String path, long userId, T body) {
         return patch(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> Object patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
     }
 
-    protected ResponseEntity<Object> delete(String path) {
+    protected Object delete(String path) {
         return delete(path, null, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, long userId) {
+    protected Object delete(String path, long userId) {
         return delete(path, userId, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
+    protected Object delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
-    private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+    private <T> Object makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
+        HttpHeaders headers = defaultHeaders(userId);
+        String cacheKey = null;
+        ResponseCache.CachedResponse cachedResponse = null;
+        if (method == HttpMethod.GET && responseCache != null) {
+            cacheKey = cacheKey(path, userId, parameters);
+            cachedResponse = responseCache.get(cacheKey);
+            if (cachedResponse != null) {
+                headers.setIfNoneMatch(cachedResponse.getETag());
+            }
+        }
+        String key = cacheKey;
+        ResponseCache.CachedResponse cached = cachedResponse;
+        if (webClient != null) {
+            return exchange(method, path, parameters, headers, body)
+                    .map(response -> prepareGatewayResponse(response, key, cached));
+        }
+        // a plain ResponseEntity keeps blocking mode off Spring MVC's async dispatch
+        return prepareGatewayResponse(exchangeBlocking(method, path, parameters, headers, body), key, cached);
+    }
 
-        ResponseEntity<Object> shareitServerResponse;
+    private <T> ResponseEntity<Object> exchangeBlocking(HttpMethod method, String path,
+                                                        @Nullable Map<String, Object> parameters,
+                                                        HttpHeaders headers, @Nullable T body) {
+        HttpEntity<T> requestEntity = new HttpEntity<>(body, headers);
         try {
             if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
-            } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
+                return rest.exchange(path, method, requestEntity, responseType, parameters);
             }
+            return rest.exchange(path, method, requestEntity, responseType);
         } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+            return ResponseEntity.status(e.getStatusCode())
+                    .headers(e.getResponseHeaders())
+                    .body(e.getResponseBodyAsByteArray());
+        }
+    }
+
+    private <T> Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path,
+                                                      @Nullable Map<String, Object> parameters,
+                                                      HttpHeaders headers, @Nullable T body) {
+        WebClient.RequestBodySpec request = webClient.method(method)
+                .uri(path, parameters != null ? parameters : Map.of())
+                .headers(requestHeaders -> requestHeaders.addAll(headers));
+        WebClient.RequestHeadersSpec<?> spec = body != null ? request.bodyValue(body) : request;
+        return spec.exchangeToMono(this::toResponseEntity);
+    }
+
+    private Mono<ResponseEntity<Object>> toResponseEntity(ClientResponse response) {
+        if (response.statusCode().isError()) {
+            return response.toEntity(byte[].class)
+                    .map(entity -> ResponseEntity.status(entity.getStatusCode())
+                            .headers(entity.getHeaders())
+                            .body(entity.getBody()));
         }
-        return prepareGatewayResponse(shareitServerResponse);
+        return response.toEntity(responseType);
+    }
+
+    private String cacheKey(String path, Long userId, @Nullable Map<String, Object> parameters) {
+        String uri = parameters != null
+                ? rest.getUriTemplateHandler().expand(path, parameters).toString()
+                : rest.getUriTemplateHandler().expand(path).toString();
+        return userId + " " + uri;
     }
 
     private HttpHeaders defaultHeaders(Long userId) {
@@ -101,12 +171,35 @@ public class BaseClient {
         return headers;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
+    private ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response,
+                                                          @Nullable String cacheKey,
+                                                          @Nullable ResponseCache.CachedResponse cachedResponse) {
+        if (cacheKey != null) {
+            if (response.getStatusCode() == HttpStatus.NOT_MODIFIED && cachedResponse != null) {
+                ResponseEntity.BodyBuilder cachedBuilder = ResponseEntity.ok()
+                        .eTag(cachedResponse.getETag());
+                if (cachedResponse.getContentType() != null) {
+                    cachedBuilder.contentType(cachedResponse.getContentType());
+                }
+                return cachedBuilder.body(cachedResponse.getBody());
+            }
+            String eTag = response.getHeaders().getETag();
+            if (response.getStatusCode() == HttpStatus.OK && eTag != null) {
+                responseCache.put(cacheKey, eTag, response.getHeaders().getContentType(), response.getBody());
+            } else {
+                responseCache.evict(cacheKey);
+            }
+        }
+
         if (response.getStatusCode().is2xxSuccessful()) {
             return response;
         }
 
         ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+        MediaType contentType = response.getHeaders().getContentType();
+        if (contentType != null) {
+            responseBuilder.contentType(contentType);
+        }
 
         if (response.hasBody()) {
             return responseBuilder.body(response.getBody());
@@ -0,0 +1,52 @@
+package ru.practicum.shareit.client;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Component
+public class ResponseCache {
+    private final Map<String, CachedResponse> responses;
+
+    public ResponseCache(@Value("${shareit-gateway.response-cache.max-size:1000}") int maxSize) {
+        this.responses = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    public CachedResponse get(String key) {
+        synchronized (responses) {
+            return responses.get(key);
+        }
+    }
+
+    public void put(String key, String eTag, @Nullable MediaType contentType, Object body) {
+        synchronized (responses) {
+            responses.put(key, new CachedResponse(eTag, contentType, body));
+        }
+    }
+
+    public void evict(String key) {
+        synchronized (responses) {
+            responses.remove(key);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class CachedResponse {
+        private final String eTag;
+        @Nullable
+        private final MediaType contentType;
+        private final Object body;
+    }
+}
@@ -0,0 +1,69 @@
+package ru.practicum.shareit.client;
+
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.config.ClientMode;
+import ru.practicum.shareit.config.HttpClientProperties;
+
+@Component
+public class ShareItServerClientFactory {
+    private final String serverUrl;
+    private final RestTemplateBuilder restTemplateBuilder;
+    private final ClientHttpRequestFactory requestFactory;
+    private final CloseableHttpClient httpClient;
+    private final WebClient.Builder webClientBuilder;
+    private final HttpClientProperties properties;
+
+    public ShareItServerClientFactory(@Value("${shareit-server.url}") String serverUrl,
+                                      RestTemplateBuilder restTemplateBuilder,
+                                      ClientHttpRequestFactory requestFactory,
+                                      CloseableHttpClient httpClient,
+                                      WebClient.Builder webClientBuilder,
+                                      HttpClientProperties properties) {
+        this.serverUrl = serverUrl;
+        this.restTemplateBuilder = restTemplateBuilder;
+        this.requestFactory = requestFactory;
+        this.httpClient = httpClient;
+        this.webClientBuilder = webClientBuilder;
+        this.properties = properties;
+    }
+
+    public RestTemplate restTemplate(String apiPrefix) {
+        return restTemplateBuilder
+                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + apiPrefix))
+                .requestFactory(() -> requestFactory)
+                .build();
+    }
+
+    public RestTemplate streamingRestTemplate(String apiPrefix) {
+        HttpComponentsClientHttpRequestFactory streamingRequestFactory =
+                new HttpComponentsClientHttpRequestFactory(httpClient);
+        streamingRequestFactory.setReadTimeout((int) properties.getStreamingReadTimeout().toMillis());
+        return restTemplateBuilder
+                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + apiPrefix))
+                .requestFactory(() -> streamingRequestFactory)
+                .build();
+    }
+
+    public boolean isPassthrough() {
+        return properties.isPassthrough();
+    }
+
+    @Nullable
+    public WebClient webClient(String apiPrefix) {
+        if (properties.getMode() != ClientMode.REACTIVE) {
+            return null;
+        }
+        return webClientBuilder.clone()
+                .uriBuilderFactory(new DefaultUriBuilderFactory(serverUrl + apiPrefix))
+                .build();
+    }
+}
@@ -0,0 +1,6 @@
+package ru.practicum.shareit.config;
+
+public enum ClientMode {
+    BLOCKING,
+    REACTIVE
+}
@@ -0,0 +1,215 @@
+package ru.practicum.shareit.item;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+import ru.practicum.shareit.item.dto.ItemRequestDto;
+import ru.practicum.shareit.validator.validationGroups.OnCreate;
+
+import javax.servlet.http.HttpServletResponse;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import javax.validation.groups.Default;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+public class ItemBulkImporter {
+    private final ItemClient itemClient;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final int chunkSize;
+
+    public ItemBulkImporter(ItemClient itemClient,
+                            ObjectMapper objectMapper,
+                            Validator validator,
+                            @Value("${shareit-gateway.item-import.chunk-size:500}") int chunkSize) {
+        this.itemClient = itemClient;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+    }
+
+    public void importItems(BufferedReader ndjson, Long userId, HttpServletResponse response) throws IOException {
+        Chunk chunk = new Chunk();
+        int lineNumber = 0;
+        String json;
+        while ((json = ndjson.readLine()) != null) {
+            lineNumber++;
+            if (json.isBlank()) {
+                continue;
+            }
+            readLine(chunk, lineNumber, json);
+            if (chunk.size() == chunkSize) {
+                if (!send(chunk, userId, response)) {
+                    return;
+                }
+                chunk = new Chunk();
+            }
+        }
+        if (chunk.size() > 0) {
+            send(chunk, userId, response);
+        }
+    }
+
+    private void readLine(Chunk chunk, int lineNumber, String json) throws IOException {
+        ItemRequestDto itemRequestDto;
+        try {
+            itemRequestDto = objectMapper.readValue(json, ItemRequestDto.class);
+        } catch (JsonProcessingException e) {
+            chunk.reject(lineNumber, String.format("Malformed JSON: %s", e.getOriginalMessage()));
+            return;
+        }
+        if (itemRequestDto == null) {
+            chunk.reject(lineNumber, "Malformed JSON: item object expected");
+            return;
+        }
+        Set<ConstraintViolation<ItemRequestDto>> violations =
+                validator.validate(itemRequestDto, Default.class, OnCreate.class);
+        if (!violations.isEmpty()) {
+            chunk.reject(lineNumber, violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+            return;
+        }
+        chunk.forward(lineNumber, objectMapper.writeValueAsBytes(itemRequestDto));
+    }
+
+    private boolean send(Chunk chunk, Long userId, HttpServletResponse response) throws IOException {
+        if (!chunk.forwardedLines.isEmpty()) {
+            ResponseEntity<byte[]> serverResponse;
+            try {
+                serverResponse = itemClient.addNewBulk(chunk.body.toByteArray(), userId);
+            } catch (ResourceAccessException e) {
+                if (!response.isCommitted()) {
+                    throw e;
+                }
+                log.warn("Item import aborted, server unavailable: {}", e.getMessage());
+                chunk.failForwarded(HttpStatus.SERVICE_UNAVAILABLE, "Server unavailable, line was not imported");
+                write(chunk, response);
+                return false;
+            }
+            if (!serverResponse.getStatusCode().is2xxSuccessful()) {
+                if (!response.isCommitted()) {
+                    relay(serverResponse, response);
+                    return false;
+                }
+                chunk.failForwarded(serverResponse.getStatusCode(),
+                        String.format("Server responded with %s", serverResponse.getStatusCode()));
+            } else if (serverResponse.getBody() != null) {
+                chunk.addServerResults(serverResponse.getBody());
+            }
+        }
+        write(chunk, response);
+        return true;
+    }
+
+    private void write(Chunk chunk, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        OutputStream out = response.getOutputStream();
+        for (JsonNode result : chunk.results.values()) {
+            out.write(objectMapper.writeValueAsBytes(result));
+            out.write('\n');
+        }
+        response.flushBuffer();
+    }
+
+    private static void relay(ResponseEntity<byte[]> serverResponse, HttpServletResponse response)
+            throws IOException {
+        response.setStatus(serverResponse.getStatusCodeValue());
+        MediaType contentType = serverResponse.getHeaders().getContentType();
+        if (contentType != null) {
+            response.setContentType(contentType.toString());
+        }
+        if (serverResponse.getBody() != null) {
+            response.getOutputStream().write(serverResponse.getBody());
+        }
+    }
+
+    private final class Chunk {
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        private final List<Integer> forwardedLines = new ArrayList<>();
+        private final SortedMap<Integer, JsonNode> results = new TreeMap<>();
+        private int size;
+
+        private int size() {
+            return size;
+        }
+
+        private void forward(int lineNumber, byte[] json) {
+            body.writeBytes(json);
+            body.write('\n');
+            forwardedLines.add(lineNumber);
+            size++;
+        }
+
+        private void reject(int lineNumber, String error) {
+            results.put(lineNumber, result(lineNumber, HttpStatus.BAD_REQUEST.value()).put("error", error));
+            size++;
+        }
+
+        private void failForwarded(HttpStatus status, String error) {
+            for (Integer lineNumber : forwardedLines) {
+                results.put(lineNumber, result(lineNumber, status.value()).put("error", error));
+            }
+        }
+
+        private void addServerResults(byte[] ndjson) {
+            Map<Integer, ObjectNode> serverResults = readServerResults(ndjson);
+            if (serverResults == null) {
+                log.warn("Item import chunk of {} lines got an invalid result from the server", forwardedLines.size());
+                failForwarded(HttpStatus.BAD_GATEWAY, "Server returned an invalid import result");
+                return;
+            }
+            results.putAll(serverResults);
+        }
+
+        @Nullable
+        private Map<Integer, ObjectNode> readServerResults(byte[] ndjson) {
+            Map<Integer, ObjectNode> serverResults = new HashMap<>();
+            for (String line : new String(ndjson, StandardCharsets.UTF_8).split("\n")) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                JsonNode result;
+                try {
+                    result = objectMapper.readTree(line);
+                } catch (JsonProcessingException e) {
+                    return null;
+                }
+                JsonNode index = result.path("line");
+                if (!result.isObject() || !index.isInt()
+                        || index.intValue() < 1 || index.intValue() > forwardedLines.size()) {
+                    return null;
+                }
+                int lineNumber = forwardedLines.get(index.intValue() - 1);
+                if (serverResults.put(lineNumber, ((ObjectNode) result).put("line", lineNumber)) != null) {
+                    return null;
+                }
+            }
+            return serverResults.size() == forwardedLines.size() ? serverResults : null;
+        }
+
+        private ObjectNode result(int lineNumber, int status) {
+            return objectMapper.createObjectNode()
+                    .put("line", lineNumber)
+                    .put("status", status);
+        }
+    }
+}
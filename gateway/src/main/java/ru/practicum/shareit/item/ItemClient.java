@@ -1,18 +1,17 @@
 package ru.practicum.shareit.item;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
-import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.*;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.client.HttpStatusCodeException;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ShareItServerClientFactory;
+import ru.practicum.shareit.client.ResponseCache;
 import ru.practicum.shareit.item.dto.CommentRequestDto;
 import ru.practicum.shareit.item.dto.ItemRequestDto;
 
-import javax.validation.ValidationException;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -20,33 +19,39 @@ public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder restTemplateBuilder) {
-        super(restTemplateBuilder
-                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                .build()
-        );
+    public ItemClient(ShareItServerClientFactory clientFactory, ResponseCache responseCache) {
+        super(clientFactory, API_PREFIX, responseCache);
     }
 
-    public ResponseEntity<Object> addNew(ItemRequestDto itemRequestDto, Long userId) {
+    public Object addNew(ItemRequestDto itemRequestDto, Long userId) {
         return post("", userId, itemRequestDto);
     }
 
-    public ResponseEntity<Object> patchUpdate(ItemRequestDto itemRequestDto, Long itemId, Long userId) {
+    public ResponseEntity<byte[]> addNewBulk(byte[] ndjson, Long userId) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_NDJSON);
+        headers.setAccept(List.of(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_JSON));
+        headers.set("X-Sharer-User-Id", String.valueOf(userId));
+        try {
+            return rest.exchange("/bulk", HttpMethod.POST, new HttpEntity<>(ndjson, headers), byte[].class);
+        } catch (HttpStatusCodeException e) {
+            return ResponseEntity.status(e.getStatusCode())
+                    .headers(e.getResponseHeaders())
+                    .body(e.getResponseBodyAsByteArray());
+        }
+    }
+
+    public Object patchUpdate(ItemRequestDto itemRequestDto, Long itemId, Long userId) {
         String path = "/" + itemId;
         return patch(path, userId, itemRequestDto);
     }
 
-    public ResponseEntity<Object> getById(Long itemId, Long userId) {
+    public Object getById(Long itemId, Long userId) {
         String path = "/" + itemId;
         return get(path, userId);
     }
 
-    public ResponseEntity<Object> getAllOwnerItems(Long userId, Integer fromElement, Integer size) {
-        if (fromElement % size != 0) {
-            throw new ValidationException("Element index and page size mismatch!");
-        }
-
+    public Object getAllOwnerItems(Long userId, Integer fromElement, Integer size) {
         String path = "?from={from}&size={size}";
         Map<String, Object> parameters = Map.of(
                 "from", fromElement,
@@ -55,12 +60,9 @@ public class ItemClient extends BaseClient {
         return get(path, userId, parameters);
     }
 
-    public ResponseEntity<Object> findAvailableByText(String text, Integer fromElement, Integer size) {
-        if (fromElement % size != 0) {
-            throw new ValidationException("Element index and page size mismatch!");
-        }
+    public Object findAvailableByText(String text, Integer fromElement, Integer size) {
         if (text.isBlank()) {
-            return ResponseEntity.status(200).body(Collections.EMPTY_LIST);
+            return ResponseEntity.ok(Collections.EMPTY_LIST);
         }
 
         String path = "/search?from={from}&size={size}&text={text}";
@@ -72,7 +74,7 @@ public class ItemClient extends BaseClient {
         return get(path, null, parameters);
     }
 
-    public ResponseEntity<Object> addNewComment(CommentRequestDto commentRequestDto, Long itemId, Long userId) {
+    public Object addNewComment(CommentRequestDto commentRequestDto, Long itemId, Long userId) {
         String path = "/" + itemId + "/comment";
         return post(path, userId, commentRequestDto);
     }
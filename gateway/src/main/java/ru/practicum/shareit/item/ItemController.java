@@ -1,7 +1,7 @@
 package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.http.ResponseEntity;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
@@ -10,8 +10,14 @@ import ru.practicum.shareit.item.dto.ItemRequestDto;
 import ru.practicum.shareit.validator.validationGroups.OnCreate;
 import ru.practicum.shareit.validator.validationGroups.OnUpdate;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import javax.validation.constraints.Min;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 
 @Controller
 @RequestMapping(path = "/items")
@@ -19,42 +25,51 @@ import javax.validation.constraints.Min;
 @Validated
 public class ItemController {
     private final ItemClient itemClient;
+    private final ItemBulkImporter itemBulkImporter;
 
     @Validated(OnCreate.class)
     @PostMapping
-    public ResponseEntity<Object> addNew(@RequestBody @Valid ItemRequestDto itemRequestDto, @RequestHeader("X-Sharer-User-Id") Long userId) {
+    public Object addNew(@RequestBody @Valid ItemRequestDto itemRequestDto, @RequestHeader("X-Sharer-User-Id") Long userId) {
         return itemClient.addNew(itemRequestDto, userId);
     }
 
+    @PostMapping(path = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public void addNewBulk(@RequestHeader("X-Sharer-User-Id") Long userId,
+                           HttpServletRequest request,
+                           HttpServletResponse response) throws IOException {
+        itemBulkImporter.importItems(new BufferedReader(
+                new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8)), userId, response);
+    }
+
     @Validated(OnUpdate.class)
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> patchUpdate(@RequestBody @Valid ItemRequestDto itemRequestDto,
+    public Object patchUpdate(@RequestBody @Valid ItemRequestDto itemRequestDto,
                                           @PathVariable Long itemId,
                                           @RequestHeader("X-Sharer-User-Id") Long userId) {
         return itemClient.patchUpdate(itemRequestDto, itemId, userId);
     }
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> getById(@PathVariable Long itemId, @RequestHeader("X-Sharer-User-Id") Long userId) {
+    public Object getById(@PathVariable Long itemId, @RequestHeader("X-Sharer-User-Id") Long userId) {
         return itemClient.getById(itemId, userId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAllOwnerItems(@RequestHeader("X-Sharer-User-Id") Long userId,
+    public Object getAllOwnerItems(@RequestHeader("X-Sharer-User-Id") Long userId,
                                                      @RequestParam(defaultValue = "0") @Min(0) Integer from,
                                                      @RequestParam(defaultValue = "20") @Min(1) Integer size) {
         return itemClient.getAllOwnerItems(userId, from, size);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> findAvailableByText(@RequestParam String text,
+    public Object findAvailableByText(@RequestParam String text,
                                                         @RequestParam(defaultValue = "0") @Min(0) Integer from,
                                                         @RequestParam(defaultValue = "20") @Min(1) Integer size) {
         return itemClient.findAvailableByText(text, from, size);
     }
 
     @PostMapping("{itemId}/comment")
-    public ResponseEntity<Object> addNewComment(@RequestBody @Valid CommentRequestDto commentRequestDto,
+    public Object addNewComment(@RequestBody @Valid CommentRequestDto commentRequestDto,
                                     @RequestHeader("X-Sharer-User-Id") Long userId,
                                     @PathVariable Long itemId) {
         return itemClient.addNewComment(commentRequestDto, itemId, userId);
@@ -1,7 +1,6 @@
 package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
@@ -18,25 +17,25 @@ public class ItemRequestController {
     private final ItemRequestClient itemRequestClient;
 
     @PostMapping
-    public ResponseEntity<Object> addNew(@RequestBody @Valid ItemRequestCreateDto itemRequestCreateDto,
+    public Object addNew(@RequestBody @Valid ItemRequestCreateDto itemRequestCreateDto,
                                          @RequestHeader("X-Sharer-User-Id") Long userId) {
         return itemRequestClient.addNew(itemRequestCreateDto, userId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAllOwn(@RequestHeader("X-Sharer-User-Id") Long userId) {
+    public Object getAllOwn(@RequestHeader("X-Sharer-User-Id") Long userId) {
         return itemRequestClient.getAllOwn(userId);
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> getAllByPages(@RequestHeader("X-Sharer-User-Id") Long userId,
+    public Object getAllByPages(@RequestHeader("X-Sharer-User-Id") Long userId,
                                                        @RequestParam(defaultValue = "0") @Min(0) Integer from,
                                                        @RequestParam(defaultValue = "20") @Min(1) Integer size) {
         return itemRequestClient.getAllByPages(userId, from, size);
     }
 
     @GetMapping("/{requestId}")
-    public ResponseEntity<Object> getById(@PathVariable Long requestId,
+    public Object getById(@PathVariable Long requestId,
                                            @RequestHeader("X-Sharer-User-Id") Long userId) {
         return itemRequestClient.getById(requestId, userId);
     }
@@ -1,13 +1,10 @@
 package ru.practicum.shareit.user;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
-import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ShareItServerClientFactory;
+import ru.practicum.shareit.client.ResponseCache;
 import ru.practicum.shareit.user.dto.UserRequestDto;
 
 @Service
@@ -15,33 +12,29 @@ public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder restTemplateBuilder) {
-        super(restTemplateBuilder
-                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                .build()
-        );
+    public UserClient(ShareItServerClientFactory clientFactory, ResponseCache responseCache) {
+        super(clientFactory, API_PREFIX, responseCache);
     }
 
-    public ResponseEntity<Object> addNew(UserRequestDto userRequestDto) {
+    public Object addNew(UserRequestDto userRequestDto) {
         return post("", userRequestDto);
     }
 
-    public ResponseEntity<Object> getAll() {
+    public Object getAll() {
         return get("");
     }
 
-    public ResponseEntity<Object> getById(Long userId) {
+    public Object getById(Long userId) {
         String path = "/" + userId;
         return get(path);
     }
 
-    public ResponseEntity<Object> patchUpdate(Long userId, UserRequestDto userRequestDto) {
+    public Object patchUpdate(Long userId, UserRequestDto userRequestDto) {
         String path = "/" + userId;
         return patch(path, userRequestDto);
     }
 
-    public ResponseEntity<Object> remove(Long userId) {
+    public Object remove(Long userId) {
         String path = "/" + userId;
         return delete(path);
     }
@@ -1,7 +1,6 @@
 package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
@@ -20,17 +19,17 @@ public class UserController {
 
     @PostMapping
     @Validated(OnCreate.class)
-    public ResponseEntity<Object> addNew(@RequestBody @Valid UserRequestDto userRequestDto) {
+    public Object addNew(@RequestBody @Valid UserRequestDto userRequestDto) {
         return userClient.addNew(userRequestDto);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAll() {
+    public Object getAll() {
         return userClient.getAll();
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Object> getById(
+    public Object getById(
             @PathVariable
             @Min(value = 1, message = "ID cannot be less than 1")
             Long id) {
@@ -38,7 +37,7 @@ public class UserController {
     }
 
     @PatchMapping("/{id}")
-    public ResponseEntity<Object> patchUpdate(
+    public Object patchUpdate(
             @PathVariable
             @Min(value = 1, message = "ID cannot be less than 1")
             Long id,
@@ -48,7 +47,7 @@ public class UserController {
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Object> remove(
+    public Object remove(
             @PathVariable
             @Min(value = 1, message = "ID cannot be less than 1")
             Long id) {
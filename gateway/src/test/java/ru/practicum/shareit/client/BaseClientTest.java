@@ -0,0 +1,292 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunctions;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
+
+import java.net.ConnectException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.headerDoesNotExist;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class BaseClientTest {
+    private static final String SERVER_URL = "http://server/users";
+    private static final String USER_URI = SERVER_URL + "/1";
+    private static final String USER_JSON = "{\"id\":1,\"name\":\"User 1 name\"}";
+
+    private final Deque<ClientResponse> webResponses = new ArrayDeque<>();
+    private final List<ClientRequest> webRequests = new ArrayList<>();
+    private RestTemplate rest;
+    private MockRestServiceServer server;
+    private ResponseCache responseCache;
+
+    @BeforeEach
+    void setUp() {
+        rest = new RestTemplate();
+        rest.setUriTemplateHandler(new DefaultUriBuilderFactory(SERVER_URL));
+        server = MockRestServiceServer.bindTo(rest).build();
+        responseCache = new ResponseCache(10);
+    }
+
+    @Test
+    void testBlockingModeAnswersWithoutMono() {
+        //given
+        server.expect(requestTo(USER_URI))
+                .andRespond(withSuccess(USER_JSON, MediaType.APPLICATION_JSON));
+        //when
+        Object response = blockingClient(false).get("/1", 1L);
+        //then
+        server.verify();
+        assertThat(response, instanceOf(ResponseEntity.class));
+    }
+
+    @Test
+    void testPassthroughRelaysServerBytesWithContentType() {
+        //given
+        MediaType contentType = MediaType.valueOf("application/json;charset=UTF-8");
+        server.expect(requestTo(USER_URI))
+                .andRespond(withSuccess(USER_JSON, contentType).headers(eTag("\"3\"")));
+        //when
+        ResponseEntity<Object> response = response(blockingClient(true).get("/1", 1L));
+        //then
+        server.verify();
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
+        assertThat(response.getHeaders().getContentType(), equalTo(contentType));
+        assertThat(response.getBody(), instanceOf(byte[].class));
+        assertThat(new String((byte[]) response.getBody(), StandardCharsets.UTF_8), equalTo(USER_JSON));
+    }
+
+    @Test
+    void testPassthroughNotModifiedReplaysCachedBytes() {
+        //given
+        TestClient client = blockingClient(true);
+        MediaType contentType = MediaType.valueOf("application/json;charset=UTF-8");
+        server.expect(requestTo(USER_URI))
+                .andRespond(withSuccess(USER_JSON, contentType).headers(eTag("\"3\"")));
+        server.expect(requestTo(USER_URI))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED).headers(eTag("\"3\"")));
+        Object cachedBody = response(client.get("/1", 1L)).getBody();
+        //when
+        ResponseEntity<Object> response = response(client.get("/1", 1L));
+        //then
+        server.verify();
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
+        assertThat(response.getHeaders().getETag(), equalTo("\"3\""));
+        assertThat(response.getHeaders().getContentType(), equalTo(contentType));
+        assertThat(response.getBody(), instanceOf(byte[].class));
+        assertThat(response.getBody(), equalTo(cachedBody));
+        assertThat(new String((byte[]) response.getBody(), StandardCharsets.UTF_8), equalTo(USER_JSON));
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void testNotModifiedIsServedFromCache(boolean passthrough) throws Exception {
+        //given
+        TestClient client = blockingClient(passthrough);
+        server.expect(requestTo(USER_URI))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+                .andRespond(withSuccess(USER_JSON, MediaType.APPLICATION_JSON).headers(eTag("\"3\"")));
+        server.expect(requestTo(USER_URI))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED).headers(eTag("\"3\"")));
+        client.get("/1", 1L);
+        //when
+        ResponseEntity<Object> response = response(client.get("/1", 1L));
+        //then
+        server.verify();
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
+        assertThat(response.getHeaders().getETag(), equalTo("\"3\""));
+        assertThat(response.getHeaders().getContentType(), equalTo(MediaType.APPLICATION_JSON));
+        assertThat(userName(response.getBody()), equalTo("User 1 name"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void testErrorEvictsCachedResponse(boolean passthrough) throws Exception {
+        //given
+        TestClient client = blockingClient(passthrough);
+        server.expect(requestTo(USER_URI))
+                .andRespond(withSuccess(USER_JSON, MediaType.APPLICATION_JSON).headers(eTag("\"3\"")));
+        server.expect(requestTo(USER_URI))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body("{\"error\":\"User ID = 1 not found!\"}"));
+        server.expect(requestTo(USER_URI))
+                .andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+                .andRespond(withSuccess(USER_JSON, MediaType.APPLICATION_JSON));
+        client.get("/1", 1L);
+        //when
+        ResponseEntity<Object> notFound = response(client.get("/1", 1L));
+        ResponseEntity<Object> reloaded = response(client.get("/1", 1L));
+        //then
+        server.verify();
+        assertThat(notFound.getStatusCode(), equalTo(HttpStatus.NOT_FOUND));
+        assertThat(new String((byte[]) notFound.getBody(), StandardCharsets.UTF_8),
+                equalTo("{\"error\":\"User ID = 1 not found!\"}"));
+        assertThat(reloaded.getStatusCode(), equalTo(HttpStatus.OK));
+        assertThat(userName(reloaded.getBody()), equalTo("User 1 name"));
+        assertThat(responseCache.get("1 " + USER_URI), nullValue());
+    }
+
+    @Test
+    void testReactiveOkWithETagIsCached() {
+        //given
+        webResponses.add(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .header(HttpHeaders.ETAG, "\"3\"")
+                .body(USER_JSON)
+                .build());
+        //when
+        Object result = reactiveClient(stubExchange()).get("/1", 1L);
+        ResponseEntity<Object> response = response(result);
+        //then
+        assertThat(result, instanceOf(Mono.class));
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
+        assertThat(response.getHeaders().getETag(), equalTo("\"3\""));
+        assertThat(((Map<?, ?>) response.getBody()).get("name"), equalTo("User 1 name"));
+        assertThat(webRequests.get(0).url().toString(), equalTo(USER_URI));
+        assertThat(webRequests.get(0).headers().getFirst("X-Sharer-User-Id"), equalTo("1"));
+        assertThat(responseCache.get("1 " + USER_URI).getETag(), equalTo("\"3\""));
+    }
+
+    @Test
+    void testReactiveNotModifiedIsServedFromCache() {
+        //given
+        TestClient client = reactiveClient(stubExchange());
+        webResponses.add(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .header(HttpHeaders.ETAG, "\"3\"")
+                .body(USER_JSON)
+                .build());
+        webResponses.add(ClientResponse.create(HttpStatus.NOT_MODIFIED)
+                .header(HttpHeaders.ETAG, "\"3\"")
+                .build());
+        response(client.get("/1", 1L));
+        //when
+        ResponseEntity<Object> response = response(client.get("/1", 1L));
+        //then
+        assertThat(webRequests.get(0).headers().getIfNoneMatch().isEmpty(), equalTo(true));
+        assertThat(webRequests.get(1).headers().getIfNoneMatch(), equalTo(List.of("\"3\"")));
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
+        assertThat(response.getHeaders().getETag(), equalTo("\"3\""));
+        assertThat(response.getHeaders().getContentType(), equalTo(MediaType.APPLICATION_JSON));
+        assertThat(((Map<?, ?>) response.getBody()).get("name"), equalTo("User 1 name"));
+    }
+
+    @Test
+    void testReactiveClientErrorRelaysBodyAndContentType() {
+        //given
+        TestClient client = reactiveClient(stubExchange());
+        responseCache.put("1 " + USER_URI, "\"3\"", MediaType.APPLICATION_JSON, USER_JSON);
+        String error = "{\"error\":\"User ID = 1 not found!\"}";
+        webResponses.add(ClientResponse.create(HttpStatus.NOT_FOUND)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(error)
+                .build());
+        //when
+        ResponseEntity<Object> response = response(client.get("/1", 1L));
+        //then
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.NOT_FOUND));
+        assertThat(response.getHeaders().getContentType(), equalTo(MediaType.APPLICATION_JSON));
+        assertThat(new String((byte[]) response.getBody(), StandardCharsets.UTF_8), equalTo(error));
+        assertThat(responseCache.get("1 " + USER_URI), nullValue());
+    }
+
+    @Test
+    void testReactiveConnectionFailureSurfacesAsRequestException() {
+        //given
+        ExchangeFunction refused = ExchangeFunctions.create((method, uri, requestCallback) ->
+                Mono.error(new ConnectException("Connection refused")));
+        //when
+        Object result = reactiveClient(refused).get("/1", 1L);
+        //then
+        WebClientRequestException exception = assertThrows(WebClientRequestException.class, () -> response(result));
+        assertThat(exception.getUri().toString(), equalTo(USER_URI));
+        assertThat(exception.getCause(), instanceOf(ConnectException.class));
+        assertThat(responseCache.get("1 " + USER_URI), nullValue());
+    }
+
+    private TestClient blockingClient(boolean passthrough) {
+        return new TestClient(rest, null, responseCache, passthrough);
+    }
+
+    private TestClient reactiveClient(ExchangeFunction exchangeFunction) {
+        WebClient webClient = WebClient.builder()
+                .uriBuilderFactory(new DefaultUriBuilderFactory(SERVER_URL))
+                .exchangeFunction(exchangeFunction)
+                .build();
+        return new TestClient(rest, webClient, responseCache, false);
+    }
+
+    private ExchangeFunction stubExchange() {
+        return request -> {
+            webRequests.add(request);
+            ClientResponse response = webResponses.poll();
+            assertThat(response, notNullValue());
+            return Mono.just(response);
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ResponseEntity<Object> response(Object result) {
+        if (result instanceof Mono) {
+            return ((Mono<ResponseEntity<Object>>) result).block();
+        }
+        return (ResponseEntity<Object>) result;
+    }
+
+    private static Object userName(Object body) throws Exception {
+        if (body instanceof byte[]) {
+            return new ObjectMapper().readValue((byte[]) body, Map.class).get("name");
+        }
+        return ((Map<?, ?>) body).get("name");
+    }
+
+    private static HttpHeaders eTag(String value) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(value);
+        return headers;
+    }
+
+    private static class TestClient extends BaseClient {
+        TestClient(RestTemplate rest, WebClient webClient, ResponseCache responseCache, boolean passthrough) {
+            super(rest, webClient, responseCache, passthrough);
+        }
+    }
+}
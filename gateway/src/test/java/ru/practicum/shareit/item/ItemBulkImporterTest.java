@@ -0,0 +1,121 @@
+package ru.practicum.shareit.item;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.validation.Validation;
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+@ExtendWith(MockitoExtension.class)
+class ItemBulkImporterTest {
+    private static final String DRILL = "{\"name\":\"Drill\",\"description\":\"Cordless drill\",\"available\":true}";
+    private static final String SAW = "{\"name\":\"Saw\",\"description\":\"Hand saw\",\"available\":true}";
+    private static final String NAMELESS = "{\"description\":\"No name\",\"available\":true}";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    @Mock
+    private ItemClient itemClient;
+    private ItemBulkImporter importer;
+
+    @BeforeEach
+    void setUp() {
+        importer = new ItemBulkImporter(itemClient, objectMapper,
+                Validation.buildDefaultValidatorFactory().getValidator(), 500);
+    }
+
+    @Test
+    void testImportMergesRejectionsWithServerResultsByInputLine() throws Exception {
+        //given
+        Mockito
+                .when(itemClient.addNewBulk(Mockito.any(), Mockito.eq(1L)))
+                .thenReturn(ResponseEntity.ok(ndjson(
+                        "{\"line\":1,\"status\":201,\"id\":10}",
+                        "{\"line\":2,\"status\":201,\"id\":11}")));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        //when
+        importer.importItems(reader(DRILL, NAMELESS, "not json", SAW), 1L, response);
+        //then
+        List<JsonNode> results = results(response);
+        assertThat(results.size(), equalTo(4));
+        assertThat(results.get(0).path("line").asInt(), equalTo(1));
+        assertThat(results.get(0).path("id").asLong(), equalTo(10L));
+        assertThat(results.get(1).path("line").asInt(), equalTo(2));
+        assertThat(results.get(1).path("status").asInt(), equalTo(400));
+        assertThat(results.get(1).path("error").asText(), equalTo("name: must not be null"));
+        assertThat(results.get(2).path("line").asInt(), equalTo(3));
+        assertThat(results.get(2).path("status").asInt(), equalTo(400));
+        assertThat(results.get(3).path("line").asInt(), equalTo(4));
+        assertThat(results.get(3).path("id").asLong(), equalTo(11L));
+        ArgumentCaptor<byte[]> forwarded = ArgumentCaptor.forClass(byte[].class);
+        Mockito.verify(itemClient).addNewBulk(forwarded.capture(), Mockito.eq(1L));
+        assertThat(new String(forwarded.getValue(), StandardCharsets.UTF_8).split("\n").length, equalTo(2));
+    }
+
+    @Test
+    void testImportWhenServerLineOutOfRange_thenFailsForwardedLinesOnly() throws Exception {
+        //given
+        Mockito
+                .when(itemClient.addNewBulk(Mockito.any(), Mockito.eq(1L)))
+                .thenReturn(ResponseEntity.ok(ndjson(
+                        "{\"line\":1,\"status\":201,\"id\":10}",
+                        "{\"line\":7,\"status\":201,\"id\":11}")));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        //when
+        importer.importItems(reader(DRILL, NAMELESS, SAW), 1L, response);
+        //then
+        List<JsonNode> results = results(response);
+        assertThat(results.size(), equalTo(3));
+        assertThat(results.get(0).path("status").asInt(), equalTo(502));
+        assertThat(results.get(1).path("status").asInt(), equalTo(400));
+        assertThat(results.get(2).path("status").asInt(), equalTo(502));
+        assertThat(results.get(2).path("line").asInt(), equalTo(3));
+    }
+
+    @Test
+    void testImportWhenServerResultIsNotAnObject_thenFailsForwardedLines() throws Exception {
+        //given
+        Mockito
+                .when(itemClient.addNewBulk(Mockito.any(), Mockito.eq(1L)))
+                .thenReturn(ResponseEntity.ok(ndjson("[1]")));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        //when
+        importer.importItems(reader(DRILL), 1L, response);
+        //then
+        List<JsonNode> results = results(response);
+        assertThat(results.size(), equalTo(1));
+        assertThat(results.get(0).path("line").asInt(), equalTo(1));
+        assertThat(results.get(0).path("status").asInt(), equalTo(502));
+    }
+
+    private static BufferedReader reader(String... lines) {
+        return new BufferedReader(new StringReader(String.join("\n", lines)));
+    }
+
+    private static byte[] ndjson(String... lines) {
+        return (String.join("\n", lines) + "\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private List<JsonNode> results(MockHttpServletResponse response) throws Exception {
+        List<JsonNode> results = new ArrayList<>();
+        for (String line : response.getContentAsString().split("\n")) {
+            results.add(objectMapper.readTree(line));
+        }
+        return results;
+    }
+}
@@ -0,0 +1,77 @@
+package ru.practicum.shareit.user;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.ExchangeFunctions;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ShareItServerClientFactory;
+import ru.practicum.shareit.exception.handler.CommonHandler;
+
+import java.net.ConnectException;
+
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class UserControllerTest {
+    private static final String SERVER_URL = "http://server/users";
+
+    private final RestTemplate rest = new RestTemplate();
+    private final ShareItServerClientFactory clientFactory = Mockito.mock(ShareItServerClientFactory.class);
+
+    @Test
+    void getById_whenBlockingMode_thenAnsweredWithoutAsyncDispatch() throws Exception {
+        rest.setUriTemplateHandler(new DefaultUriBuilderFactory(SERVER_URL));
+        MockRestServiceServer server = MockRestServiceServer.bindTo(rest).build();
+        server.expect(requestTo(SERVER_URL + "/1"))
+                .andRespond(withSuccess("{\"id\":1,\"name\":\"User 1 name\"}", MediaType.APPLICATION_JSON));
+
+        mockMvc(null).perform(get("/users/{id}", 1))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.name").value("User 1 name"));
+        server.verify();
+    }
+
+    @Test
+    void getById_whenReactiveModeAndServerDown_thenServiceUnavailable() throws Exception {
+        WebClient webClient = WebClient.builder()
+                .uriBuilderFactory(new DefaultUriBuilderFactory(SERVER_URL))
+                .exchangeFunction(ExchangeFunctions.create((method, uri, requestCallback) ->
+                        Mono.error(new ConnectException("Connection refused"))))
+                .build();
+        MockMvc mockMvc = mockMvc(webClient);
+
+        MvcResult result = mockMvc.perform(get("/users/{id}", 1))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.error").exists());
+    }
+
+    private MockMvc mockMvc(WebClient webClient) {
+        Mockito.when(clientFactory.restTemplate("/users")).thenReturn(rest);
+        Mockito.when(clientFactory.webClient("/users")).thenReturn(webClient);
+        Mockito.when(clientFactory.isPassthrough()).thenReturn(false);
+        UserClient userClient = new UserClient(clientFactory, new ResponseCache(10));
+        return MockMvcBuilders.standaloneSetup(new UserController(userClient))
+                .setControllerAdvice(new CommonHandler())
+                .build();
+    }
+}
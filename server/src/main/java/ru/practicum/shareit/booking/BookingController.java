@@ -1,9 +1,17 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingDto;
-import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.dto.BookingExportFormat;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.service.BookingExportService;
 import ru.practicum.shareit.booking.service.BookingService;
 
 import java.util.List;
@@ -12,40 +20,76 @@ import java.util.List;
 @RequestMapping(path = "/bookings")
 @RequiredArgsConstructor
 public class BookingController {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final BookingService bookingService;
+    private final BookingExportService bookingExportService;
 
     @PostMapping
-    public Booking addNew(@RequestBody BookingDto bookingDto,
-                          @RequestHeader("X-Sharer-User-Id") Long userId) {
+    public BookingResponseDto addNew(@RequestBody BookingDto bookingDto,
+                                     @RequestHeader("X-Sharer-User-Id") Long userId) {
         return bookingService.addNew(bookingDto, userId);
     }
 
     @PatchMapping("/{bookingId}")
-    public Booking confirmBooking(@PathVariable Long bookingId,
-                                  @RequestParam boolean approved,
-                                  @RequestHeader("X-Sharer-User-Id") Long userId) {
+    public BookingResponseDto confirmBooking(@PathVariable Long bookingId,
+                                             @RequestParam boolean approved,
+                                             @RequestHeader("X-Sharer-User-Id") Long userId) {
         return bookingService.confirmBooking(bookingId, approved, userId);
     }
 
     @GetMapping("/{bookingId}")
-    public Booking getBooking(@PathVariable Long bookingId,
-                              @RequestHeader("X-Sharer-User-Id") Long userId) {
+    public BookingResponseDto getBooking(@PathVariable Long bookingId,
+                                         @RequestHeader("X-Sharer-User-Id") Long userId) {
         return bookingService.getBooking(bookingId, userId);
     }
 
     @GetMapping
-    public List<Booking> getAllByBookerIdAndState(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                  @RequestParam(defaultValue = "ALL") String state,
-                                                  @RequestParam(defaultValue = "0") Integer from,
-                                                  @RequestParam(defaultValue = "20") Integer size) {
-        return bookingService.getAllByBookerIdAndState(userId, state, from, size);
+    public ResponseEntity<List<BookingResponseDto>> getAllByBookerIdAndState(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestParam(defaultValue = "ALL") String state,
+            @RequestParam(defaultValue = "0") Integer from,
+            @RequestParam(defaultValue = "20") Integer size,
+            @RequestParam(required = false) String cursor) {
+        if (cursor == null) {
+            return ResponseEntity.ok(bookingService.getAllByBookerIdAndState(userId, state, from, size));
+        }
+        return toSliceResponse(bookingService.getSliceByBookerIdAndState(userId, state, cursor, size));
     }
 
     @GetMapping("/owner")
-    public List<Booking> getAllByOwnerIdAndState(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                 @RequestParam(defaultValue = "ALL") String state,
-                                                 @RequestParam(defaultValue = "0") Integer from,
-                                                 @RequestParam(defaultValue = "20") Integer size) {
-        return bookingService.getAllByOwnerIdAndState(userId, state, from, size);
+    public ResponseEntity<List<BookingResponseDto>> getAllByOwnerIdAndState(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestParam(defaultValue = "ALL") String state,
+            @RequestParam(defaultValue = "0") Integer from,
+            @RequestParam(defaultValue = "20") Integer size,
+            @RequestParam(required = false) String cursor) {
+        if (cursor == null) {
+            return ResponseEntity.ok(bookingService.getAllByOwnerIdAndState(userId, state, from, size));
+        }
+        return toSliceResponse(bookingService.getSliceByOwnerIdAndState(userId, state, cursor, size));
+    }
+
+    @GetMapping("/owner/export")
+    public ResponseEntity<StreamingResponseBody> exportByOwnerId(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                 @RequestParam(defaultValue = "ndjson") String format) {
+        BookingExportFormat exportFormat = BookingExportFormat.from(format);
+        StreamingResponseBody body = bookingExportService.exportByOwnerId(userId, exportFormat);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("bookings." + exportFormat.getFileExtension())
+                        .build()
+                        .toString())
+                .body(body);
+    }
+
+    private static ResponseEntity<List<BookingResponseDto>> toSliceResponse(Slice<BookingResponseDto> slice) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (slice.hasNext()) {
+            List<BookingResponseDto> bookings = slice.getContent();
+            response.header(NEXT_CURSOR_HEADER, BookingCursor.of(bookings.get(bookings.size() - 1)).encode());
+        }
+        return response.body(slice.getContent());
     }
 }
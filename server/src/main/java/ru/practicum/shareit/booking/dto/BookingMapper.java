@@ -23,6 +23,17 @@ public class BookingMapper {
                 .build();
     }
 
+    public static BookingResponseDto toBookingResponseDto(Booking booking) {
+        return BookingResponseDto.builder()
+                .id(booking.getId())
+                .start(booking.getStart())
+                .end(booking.getEnd())
+                .status(booking.getStatus())
+                .item(new BookingResponseDto.BookedItem(booking.getItem().getId(), booking.getItem().getName()))
+                .booker(new BookingResponseDto.Booker(booking.getBooker().getId()))
+                .build();
+    }
+
     public static BookingNearestDto toBookingNearest(Booking booking) {
         if (booking == null) {
             return null;
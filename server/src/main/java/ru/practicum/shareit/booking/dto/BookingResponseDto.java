@@ -0,0 +1,47 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.*;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingResponseDto {
+    private Long id;
+    private LocalDateTime start;
+    private LocalDateTime end;
+    private BookingStatus status;
+    private BookedItem item;
+    private Booker booker;
+
+    public BookingResponseDto(Long id,
+                              LocalDateTime start,
+                              LocalDateTime end,
+                              BookingStatus status,
+                              Long itemId,
+                              String itemName,
+                              Long bookerId) {
+        this(id, start, end, status, new BookedItem(itemId, itemName), new Booker(bookerId));
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BookedItem {
+        private Long id;
+        private String name;
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Booker {
+        private Long id;
+    }
+}
@@ -0,0 +1,8 @@
+package ru.practicum.shareit.booking.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.dto.BookingExportFormat;
+
+public interface BookingExportService {
+    StreamingResponseBody exportByOwnerId(Long ownerId, BookingExportFormat format);
+}
@@ -0,0 +1,114 @@
+package ru.practicum.shareit.booking.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.dto.BookingExportFormat;
+import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.storage.BookingRepository;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.user.service.UserCache;
+
+import javax.persistence.EntityManager;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+public class BookingExportServiceImpl implements BookingExportService {
+    private static final String CSV_HEADER = "id,start,end,status,item_id,item_name,booker_id";
+    private static final int CLEAR_EVERY = Integer.parseInt(BookingRepository.EXPORT_FETCH_SIZE);
+
+    private final BookingRepository bookingRepository;
+    private final UserCache userCache;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+
+    public BookingExportServiceImpl(BookingRepository bookingRepository,
+                                    UserCache userCache,
+                                    ObjectMapper objectMapper,
+                                    EntityManager entityManager,
+                                    PlatformTransactionManager transactionManager) {
+        this.bookingRepository = bookingRepository;
+        this.userCache = userCache;
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    @Override
+    public StreamingResponseBody exportByOwnerId(Long ownerId, BookingExportFormat format) {
+        if (!userCache.exists(ownerId)) {
+            throw new NotFoundException(String.format("User ID = %d not found!", ownerId));
+        }
+        return out -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            try {
+                long rows = transactionTemplate.execute(status -> write(ownerId, format, writer));
+                log.debug("Exported {} bookings of owner ID = {} as {}", rows, ownerId, format);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            writer.flush();
+        };
+    }
+
+    private long write(Long ownerId, BookingExportFormat format, Writer writer) {
+        long rows = 0;
+        try (Stream<Booking> bookings = bookingRepository.streamAllByItemOwnerIdOrderByStartDesc(ownerId)) {
+            if (format == BookingExportFormat.CSV) {
+                writer.write(CSV_HEADER);
+                writer.write('\n');
+            }
+            Iterator<Booking> iterator = bookings.iterator();
+            while (iterator.hasNext()) {
+                BookingResponseDto booking = BookingMapper.toBookingResponseDto(iterator.next());
+                if (format == BookingExportFormat.CSV) {
+                    writeCsv(booking, writer);
+                } else {
+                    writer.write(objectMapper.writeValueAsString(booking));
+                }
+                writer.write('\n');
+                if (++rows % CLEAR_EVERY == 0) {
+                    entityManager.clear();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return rows;
+    }
+
+    private static void writeCsv(BookingResponseDto booking, Writer writer) throws IOException {
+        writer.write(String.valueOf(booking.getId()));
+        writer.write(',');
+        writer.write(booking.getStart().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+        writer.write(',');
+        writer.write(booking.getEnd().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+        writer.write(',');
+        writer.write(booking.getStatus().name());
+        writer.write(',');
+        writer.write(String.valueOf(booking.getItem().getId()));
+        writer.write(',');
+        writer.write(csvField(booking.getItem().getName()));
+        writer.write(',');
+        writer.write(String.valueOf(booking.getBooker().getId()));
+    }
+
+    private static String csvField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,74 @@
+package ru.practicum.shareit.booking.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.storage.BookingRepository;
+import ru.practicum.shareit.cache.LocalCache;
+import ru.practicum.shareit.cache.LocalCacheProperties;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+@Component
+public class BookingIntervalIndex {
+    private final BookingRepository bookingRepository;
+    private final LocalCache<Long, ItemIntervals> intervals;
+
+    public BookingIntervalIndex(BookingRepository bookingRepository,
+                                LocalCacheProperties cacheProperties,
+                                MeterRegistry meterRegistry) {
+        this.bookingRepository = bookingRepository;
+        this.intervals = new LocalCache<>("booking-intervals", cacheProperties.spec("booking-intervals"),
+                meterRegistry);
+    }
+
+    public boolean overlaps(Long itemId, LocalDateTime start, LocalDateTime end) {
+        return intervals.get(itemId, this::load).overlaps(start, end);
+    }
+
+    public void evictItem(Long itemId) {
+        intervals.evict(itemId);
+    }
+
+    private ItemIntervals load(Long itemId) {
+        ItemIntervals itemIntervals = new ItemIntervals();
+        for (Booking booking : bookingRepository.findAllByItemIdAndStatusAndEndAfter(
+                itemId, BookingStatus.APPROVED, LocalDateTime.now())) {
+            itemIntervals.add(booking.getStart(), booking.getEnd());
+        }
+        return itemIntervals;
+    }
+
+    private static final class ItemIntervals {
+        private final NavigableMap<LocalDateTime, LocalDateTime> endByStart = new TreeMap<>();
+
+        private boolean overlaps(LocalDateTime start, LocalDateTime end) {
+            Map.Entry<LocalDateTime, LocalDateTime> latestStarted = endByStart.lowerEntry(end);
+            return latestStarted != null && latestStarted.getValue().isAfter(start);
+        }
+
+        private void add(LocalDateTime start, LocalDateTime end) {
+            LocalDateTime mergedStart = start;
+            LocalDateTime mergedEnd = end;
+            Map.Entry<LocalDateTime, LocalDateTime> previous = endByStart.floorEntry(start);
+            if (previous != null && previous.getValue().isAfter(start)) {
+                mergedStart = previous.getKey();
+                mergedEnd = latest(previous.getValue(), end);
+            }
+            NavigableMap<LocalDateTime, LocalDateTime> covered = endByStart.subMap(mergedStart, true, mergedEnd, false);
+            for (LocalDateTime coveredEnd : covered.values()) {
+                mergedEnd = latest(mergedEnd, coveredEnd);
+            }
+            covered.clear();
+            endByStart.put(mergedStart, mergedEnd);
+        }
+
+        private static LocalDateTime latest(LocalDateTime first, LocalDateTime second) {
+            return first.isAfter(second) ? first : second;
+        }
+    }
+}
@@ -1,18 +1,23 @@
 package ru.practicum.shareit.booking.service;
 
+import org.springframework.data.domain.Slice;
 import ru.practicum.shareit.booking.dto.BookingDto;
-import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
 
 import java.util.List;
 
 public interface BookingService {
-    Booking addNew(BookingDto bookingDto, Long userId);
+    BookingResponseDto addNew(BookingDto bookingDto, Long userId);
 
-    Booking confirmBooking(Long bookingId, boolean approved, Long userId);
+    BookingResponseDto confirmBooking(Long bookingId, boolean approved, Long userId);
 
-    Booking getBooking(Long bookingId, Long userId);
+    BookingResponseDto getBooking(Long bookingId, Long userId);
 
-    List<Booking> getAllByBookerIdAndState(Long bookerId, String state, Integer fromElement, Integer size);
+    List<BookingResponseDto> getAllByBookerIdAndState(Long bookerId, String state, Integer fromElement, Integer size);
 
-    List<Booking> getAllByOwnerIdAndState(Long ownerId, String state, Integer fromElement, Integer size);
+    List<BookingResponseDto> getAllByOwnerIdAndState(Long ownerId, String state, Integer fromElement, Integer size);
+
+    Slice<BookingResponseDto> getSliceByBookerIdAndState(Long bookerId, String state, String cursor, Integer size);
+
+    Slice<BookingResponseDto> getSliceByOwnerIdAndState(Long ownerId, String state, String cursor, Integer size);
 }
@@ -2,19 +2,27 @@ package ru.practicum.shareit.booking.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.storage.BookingRepository;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemCache;
 import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
+import ru.practicum.shareit.user.service.UserCache;
 import ru.practicum.shareit.user.storage.UserRepository;
 
 import javax.validation.ValidationException;
@@ -30,9 +38,13 @@ public class BookingServiceImpl implements BookingService {
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final UserCache userCache;
+    private final ItemCache itemCache;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final ItemLocks itemLocks;
 
     @Override
-    public Booking addNew(BookingDto bookingDto, Long userId) {
+    public BookingResponseDto addNew(BookingDto bookingDto, Long userId) {
         Item item = itemRepository.findById(bookingDto.getItemId())
                 .orElseThrow(() ->
                         new NotFoundException(String.format("Item ID = %d not found!", bookingDto.getItemId())));
@@ -43,14 +55,17 @@ public class BookingServiceImpl implements BookingService {
             throw new NotFoundException("Cant book own item!");
         }
         Booking booking = BookingMapper.toBooking(bookingDto, item);
-        booking.setBooker(userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException(String.format("User ID = %d not found!", userId))));
+        if (!userCache.exists(userId)) {
+            throw new NotFoundException(String.format("User ID = %d not found!", userId));
+        }
+        checkNoApprovedOverlap(booking);
+        booking.setBooker(userRepository.getReferenceById(userId));
         booking.setStatus(BookingStatus.WAITING);
-        return bookingRepository.save(booking);
+        return BookingMapper.toBookingResponseDto(bookingRepository.save(booking));
     }
 
     @Override
-    public Booking confirmBooking(Long bookingId, boolean approved, Long userId) {
+    public BookingResponseDto confirmBooking(Long bookingId, boolean approved, Long userId) {
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new NotFoundException(String.format("Booking ID = %d not found!", bookingId)));
         if (!Objects.equals(booking.getItem().getOwner().getId(), userId)) {
@@ -59,52 +74,61 @@ public class BookingServiceImpl implements BookingService {
         if (booking.getStatus() != BookingStatus.WAITING) {
             throw new ValidationException("Booking state is already confirmed");
         }
-        if (approved) {
-            booking.setStatus(BookingStatus.APPROVED);
-        } else {
+        if (!approved) {
             booking.setStatus(BookingStatus.REJECTED);
+            return BookingMapper.toBookingResponseDto(bookingRepository.save(booking));
+        }
+        itemLocks.lockUntilCompletion(booking.getItem().getId());
+        checkNoApprovedOverlap(booking);
+        booking.setStatus(BookingStatus.APPROVED);
+        Booking savedBooking = bookingRepository.save(booking);
+        try {
+            bookingRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            throw overlapConflict(booking);
         }
-        return bookingRepository.save(booking);
+        bookingIntervalIndex.evictItem(booking.getItem().getId());
+        itemCache.evictNearestBookings(booking.getItem().getId());
+        return BookingMapper.toBookingResponseDto(savedBooking);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Booking getBooking(Long bookingId, Long userId) {
+    public BookingResponseDto getBooking(Long bookingId, Long userId) {
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new NotFoundException(String.format("Booking ID = %d not found!", bookingId)));
         if (!Objects.equals(booking.getBooker().getId(), userId) &&
                 !Objects.equals(booking.getItem().getOwner().getId(), userId)) {
             throw new NotFoundException("Requester ID and creator(item owner) ID mismatch!");
         }
-        return booking;
+        return BookingMapper.toBookingResponseDto(booking);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<Booking> getAllByBookerIdAndState(Long bookerId, String state, Integer fromElement, Integer size) {
-        if (!userRepository.existsById(bookerId)) {
+    public List<BookingResponseDto> getAllByBookerIdAndState(Long bookerId, String state, Integer fromElement, Integer size) {
+        if (!userCache.exists(bookerId)) {
             throw new NotFoundException(String.format("User ID = %d not found!", bookerId));
         }
-        int fromPage = fromElement / size;
-        Pageable pageable = PageRequest.of(fromPage, size);
+        Pageable pageable = OffsetPageRequest.of(fromElement, size);
         switch (state.toUpperCase()) {
             case "ALL":
-                return bookingRepository.findAllByBookerIdOrderByStartDesc(bookerId, pageable).toList();
+                return bookingRepository.findAllByBookerIdOrderByStartDesc(bookerId, pageable).getContent();
             case "PAST":
                 return bookingRepository.findAllByBookerIdAndEndBeforeOrderByStartDesc(
-                        bookerId, LocalDateTime.now(), pageable).toList();
+                        bookerId, LocalDateTime.now(), pageable).getContent();
             case "FUTURE":
                 return bookingRepository.findAllByBookerIdAndStartAfterOrderByStartDesc(
-                        bookerId, LocalDateTime.now(), pageable).toList();
+                        bookerId, LocalDateTime.now(), pageable).getContent();
             case "CURRENT":
                 return bookingRepository.findAllByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(
-                        bookerId, LocalDateTime.now(), LocalDateTime.now(), pageable).toList();
+                        bookerId, LocalDateTime.now(), LocalDateTime.now(), pageable).getContent();
             case "WAITING":
                 return bookingRepository.findAllByBookerIdAndStatusOrderByStartDesc(
-                        bookerId, BookingStatus.WAITING, pageable).toList();
+                        bookerId, BookingStatus.WAITING, pageable).getContent();
             case "REJECTED":
                 return bookingRepository.findAllByBookerIdAndStatusOrderByStartDesc(
-                        bookerId, BookingStatus.REJECTED, pageable).toList();
+                        bookerId, BookingStatus.REJECTED, pageable).getContent();
             default:
                 throw new ValidationException(String.format("Unknown state: %s", state.toUpperCase()));
         }
@@ -112,32 +136,75 @@ public class BookingServiceImpl implements BookingService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<Booking> getAllByOwnerIdAndState(Long ownerId, String state, Integer fromElement, Integer size) {
-        if (!userRepository.existsById(ownerId)) {
+    public List<BookingResponseDto> getAllByOwnerIdAndState(Long ownerId, String state, Integer fromElement, Integer size) {
+        if (!userCache.exists(ownerId)) {
             throw new NotFoundException(String.format("User ID = %d not found!", ownerId));
         }
-        int fromPage = fromElement / size;
-        Pageable pageable = PageRequest.of(fromPage, size);
+        Pageable pageable = OffsetPageRequest.of(fromElement, size);
         switch (BookingState.valueOf(state.toUpperCase())) {
             case ALL:
-                return bookingRepository.findAllByItemOwnerIdOrderByStartDesc(ownerId, pageable).toList();
+                return bookingRepository.findAllByItemOwnerIdOrderByStartDesc(ownerId, pageable).getContent();
             case PAST:
                 return bookingRepository.findAllByItemOwnerIdAndEndBeforeOrderByStartDesc(
-                        ownerId, LocalDateTime.now(), pageable).toList();
+                        ownerId, LocalDateTime.now(), pageable).getContent();
             case FUTURE:
                 return bookingRepository.findAllByItemOwnerIdAndStartAfterOrderByStartDesc(
-                        ownerId, LocalDateTime.now(), pageable).toList();
+                        ownerId, LocalDateTime.now(), pageable).getContent();
             case CURRENT:
                 return bookingRepository.findAllByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDesc(
-                        ownerId, LocalDateTime.now(), LocalDateTime.now(), pageable).toList();
+                        ownerId, LocalDateTime.now(), LocalDateTime.now(), pageable).getContent();
             case WAITING:
                 return bookingRepository.findAllByItemOwnerIdAndStatusOrderByStartDesc(
-                        ownerId, BookingStatus.WAITING, pageable).toList();
+                        ownerId, BookingStatus.WAITING, pageable).getContent();
             case REJECTED:
                 return bookingRepository.findAllByItemOwnerIdAndStatusOrderByStartDesc(
-                        ownerId, BookingStatus.REJECTED, pageable).toList();
+                        ownerId, BookingStatus.REJECTED, pageable).getContent();
             default:
                 throw new RuntimeException();
         }
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<BookingResponseDto> getSliceByBookerIdAndState(Long bookerId, String state, String cursor, Integer size) {
+        if (!userCache.exists(bookerId)) {
+            throw new NotFoundException(String.format("User ID = %d not found!", bookerId));
+        }
+        return toSlice(bookingRepository.findSliceByBookerId(
+                bookerId, toBookingState(state), LocalDateTime.now(), BookingCursor.decode(cursor), size + 1), size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<BookingResponseDto> getSliceByOwnerIdAndState(Long ownerId, String state, String cursor, Integer size) {
+        if (!userCache.exists(ownerId)) {
+            throw new NotFoundException(String.format("User ID = %d not found!", ownerId));
+        }
+        return toSlice(bookingRepository.findSliceByItemOwnerId(
+                ownerId, toBookingState(state), LocalDateTime.now(), BookingCursor.decode(cursor), size + 1), size);
+    }
+
+    private static BookingState toBookingState(String state) {
+        try {
+            return BookingState.valueOf(state.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException(String.format("Unknown state: %s", state.toUpperCase()));
+        }
+    }
+
+    private static Slice<BookingResponseDto> toSlice(List<BookingResponseDto> bookings, Integer size) {
+        boolean hasNext = bookings.size() > size;
+        return new SliceImpl<>(hasNext ? bookings.subList(0, size) : bookings, Pageable.ofSize(size), hasNext);
+    }
+
+    private void checkNoApprovedOverlap(Booking booking) {
+        if (bookingIntervalIndex.overlaps(booking.getItem().getId(), booking.getStart(), booking.getEnd())) {
+            throw overlapConflict(booking);
+        }
+    }
+
+    private ConflictException overlapConflict(Booking booking) {
+        return new ConflictException(String.format("Item ID = %d already has an approved booking overlapping %s - %s!",
+                booking.getItem().getId(), booking.getStart(), booking.getEnd()));
+    }
 }
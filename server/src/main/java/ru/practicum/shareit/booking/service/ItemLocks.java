@@ -0,0 +1,65 @@
+package ru.practicum.shareit.booking.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.exception.ServiceUnavailableException;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Component
+public class ItemLocks {
+    private final ReentrantLock[] stripes;
+    private final Duration acquireTimeout;
+
+    @Autowired
+    public ItemLocks(ItemLocksProperties properties) {
+        this(properties.getStripes(), properties.getAcquireTimeout());
+    }
+
+    ItemLocks(int stripes, Duration acquireTimeout) {
+        if (stripes < 1) {
+            throw new IllegalArgumentException("Item lock stripes must be positive: " + stripes);
+        }
+        int size = Integer.highestOneBit(stripes);
+        this.stripes = new ReentrantLock[size < stripes ? size << 1 : size];
+        for (int i = 0; i < this.stripes.length; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    public void lockUntilCompletion(Long itemId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Item lock must be taken inside a transaction");
+        }
+        ReentrantLock lock = stripeFor(itemId);
+        try {
+            if (!lock.tryLock(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new ServiceUnavailableException(
+                        String.format("Item ID = %d is busy, try again later", itemId));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException(String.format("Interrupted while locking item ID = %d", itemId));
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lock.unlock();
+            }
+        });
+    }
+
+    int stripeCount() {
+        return stripes.length;
+    }
+
+    ReentrantLock stripeFor(Long itemId) {
+        int hash = itemId.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+    }
+}
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "shareit.item-locks")
+public class ItemLocksProperties {
+    private int stripes = 64;
+    private Duration acquireTimeout = Duration.ofSeconds(5);
+}
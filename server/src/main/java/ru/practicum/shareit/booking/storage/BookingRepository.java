@@ -1,56 +1,92 @@
 package ru.practicum.shareit.booking.storage;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 
+import javax.persistence.QueryHint;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface BookingRepository extends JpaRepository<Booking, Long> {
-    Page<Booking> findAllByBookerIdOrderByStartDesc(Long bookerId, Pageable pageable);
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
-    Page<Booking> findAllByBookerIdAndEndBeforeOrderByStartDesc(Long bookerId,
-                                                                LocalDateTime endBefore,
-                                                                Pageable pageable);
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingRepositoryCustom {
+    String SELECT_RESPONSE_DTO = "SELECT new ru.practicum.shareit.booking.dto.BookingResponseDto(" +
+            "b.id, b.start, b.end, b.status, b.item.id, b.item.name, b.booker.id) FROM Booking b ";
+    String EXPORT_FETCH_SIZE = "500";
 
-    Page<Booking> findAllByBookerIdAndStartAfterOrderByStartDesc(Long bookerId,
-                                                                 LocalDateTime startAfter,
-                                                                 Pageable pageable);
+    @Override
+    @EntityGraph(attributePaths = "item")
+    Optional<Booking> findById(Long id);
 
-    Page<Booking> findAllByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(Long bookerId,
-                                                                             LocalDateTime startBefore,
-                                                                             LocalDateTime endAfter,
-                                                                             Pageable pageable);
-
-    Page<Booking> findAllByBookerIdAndStatusOrderByStartDesc(Long bookerId,
-                                                             BookingStatus bookingStatus,
-                                                             Pageable pageable);
-
-    Page<Booking> findAllByItemOwnerIdOrderByStartDesc(Long bookerId, Pageable pageable);
+    @Query(SELECT_RESPONSE_DTO + "WHERE b.booker.id = ?1 ORDER BY b.start DESC")
+    Slice<BookingResponseDto> findAllByBookerIdOrderByStartDesc(Long bookerId, Pageable pageable);
 
-    Page<Booking> findAllByItemOwnerIdAndEndBeforeOrderByStartDesc(Long bookerId,
-                                                                   LocalDateTime endBefore,
-                                                                   Pageable pageable);
+    @Query(SELECT_RESPONSE_DTO + "WHERE b.booker.id = ?1 AND b.end < ?2 ORDER BY b.start DESC")
+    Slice<BookingResponseDto> findAllByBookerIdAndEndBeforeOrderByStartDesc(Long bookerId,
+                                                                            LocalDateTime endBefore,
+                                                                            Pageable pageable);
 
-    Page<Booking> findAllByItemOwnerIdAndStartAfterOrderByStartDesc(Long bookerId,
-                                                                    LocalDateTime startAfter,
-                                                                    Pageable pageable);
+    @Query(SELECT_RESPONSE_DTO + "WHERE b.booker.id = ?1 AND b.start > ?2 ORDER BY b.start DESC")
+    Slice<BookingResponseDto> findAllByBookerIdAndStartAfterOrderByStartDesc(Long bookerId,
+                                                                             LocalDateTime startAfter,
+                                                                             Pageable pageable);
 
-    Page<Booking> findAllByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDesc(Long bookerId,
-                                                                                LocalDateTime startBefore,
-                                                                                LocalDateTime endAfter,
+    @Query(SELECT_RESPONSE_DTO + "WHERE b.booker.id = ?1 AND b.start < ?2 AND b.end > ?3 " +
+            "ORDER BY b.start DESC")
+    Slice<BookingResponseDto> findAllByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(Long bookerId,
+                                                                                         LocalDateTime startBefore,
+                                                                                         LocalDateTime endAfter,
+                                                                                         Pageable pageable);
+
+    @Query(SELECT_RESPONSE_DTO + "WHERE b.booker.id = ?1 AND b.status = ?2 ORDER BY b.start DESC")
+    Slice<BookingResponseDto> findAllByBookerIdAndStatusOrderByStartDesc(Long bookerId,
+                                                                         BookingStatus bookingStatus,
+                                                                         Pageable pageable);
+
+    @Query(SELECT_RESPONSE_DTO + "WHERE b.item.id IN (SELECT i.id FROM Item i WHERE i.owner.id = ?1) ORDER BY b.start DESC")
+    Slice<BookingResponseDto> findAllByItemOwnerIdOrderByStartDesc(Long bookerId, Pageable pageable);
+
+    @Query(SELECT_RESPONSE_DTO + "WHERE b.item.id IN (SELECT i.id FROM Item i WHERE i.owner.id = ?1) AND b.end < ?2 ORDER BY b.start DESC")
+    Slice<BookingResponseDto> findAllByItemOwnerIdAndEndBeforeOrderByStartDesc(Long bookerId,
+                                                                               LocalDateTime endBefore,
+                                                                               Pageable pageable);
+
+    @Query(SELECT_RESPONSE_DTO + "WHERE b.item.id IN (SELECT i.id FROM Item i WHERE i.owner.id = ?1) AND b.start > ?2 ORDER BY b.start DESC")
+    Slice<BookingResponseDto> findAllByItemOwnerIdAndStartAfterOrderByStartDesc(Long bookerId,
+                                                                                LocalDateTime startAfter,
                                                                                 Pageable pageable);
 
-    List<Booking> findAllByItemOwnerIdAndStatus(Long ownerId, BookingStatus bookingStatus);
+    @Query(SELECT_RESPONSE_DTO + "WHERE b.item.id IN (SELECT i.id FROM Item i WHERE i.owner.id = ?1) AND b.start < ?2 AND b.end > ?3 " +
+            "ORDER BY b.start DESC")
+    Slice<BookingResponseDto> findAllByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDesc(Long bookerId,
+                                                                                            LocalDateTime startBefore,
+                                                                                            LocalDateTime endAfter,
+                                                                                            Pageable pageable);
+
+    @Query(SELECT_RESPONSE_DTO + "WHERE b.item.id IN (SELECT i.id FROM Item i WHERE i.owner.id = ?1) AND b.status = ?2 " +
+            "ORDER BY b.start DESC")
+    Slice<BookingResponseDto> findAllByItemOwnerIdAndStatusOrderByStartDesc(Long bookerId,
+                                                                            BookingStatus bookingStatus,
+                                                                            Pageable pageable);
 
-    List<Booking> findAllByStatus(BookingStatus bookingStatus);
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query("SELECT b FROM Booking b JOIN FETCH b.item " +
+            "WHERE b.item.id IN (SELECT i.id FROM Item i WHERE i.owner.id = ?1) ORDER BY b.start DESC, b.id DESC")
+    Stream<Booking> streamAllByItemOwnerIdOrderByStartDesc(Long ownerId);
 
-    Page<Booking> findAllByItemOwnerIdAndStatusOrderByStartDesc(Long bookerId,
-                                                                BookingStatus bookingStatus,
-                                                                Pageable pageable);
+    List<Booking> findAllByItemIdAndStatusAndEndAfter(Long itemId, BookingStatus status, LocalDateTime endAfter);
 
     Booking findFirstByItemIdAndStatusAndStartBeforeOrderByStartDesc(Long itemId,
                                                                      BookingStatus status,
@@ -60,6 +96,19 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
                                                                    BookingStatus status,
                                                                    LocalDateTime startAfter);
 
+    @Query("SELECT b FROM Booking b " +
+            "JOIN FETCH b.booker " +
+            "WHERE b.item.id IN ?1 " +
+            "AND b.status = ?2 " +
+            "AND (b.start = (SELECT max(lb.start) FROM Booking lb " +
+            "WHERE lb.item.id = b.item.id AND lb.status = ?2 AND lb.start < ?3) " +
+            "OR b.start = (SELECT min(nb.start) FROM Booking nb " +
+            "WHERE nb.item.id = b.item.id AND nb.status = ?2 AND nb.start > ?3)) " +
+            "ORDER BY b.id")
+    List<Booking> findLastAndNextByItemIdInAndStatus(Collection<Long> itemIds,
+                                                     BookingStatus status,
+                                                     LocalDateTime now);
+
     boolean existsByItemIdAndBookerIdAndStatusAndEndBefore(Long itemId,
                                                            Long userId,
                                                            BookingStatus status,
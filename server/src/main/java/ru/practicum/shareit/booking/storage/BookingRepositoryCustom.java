@@ -0,0 +1,22 @@
+package ru.practicum.shareit.booking.storage;
+
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface BookingRepositoryCustom {
+    List<BookingResponseDto> findSliceByBookerId(Long bookerId,
+                                                 BookingState state,
+                                                 LocalDateTime now,
+                                                 BookingCursor cursor,
+                                                 int limit);
+
+    List<BookingResponseDto> findSliceByItemOwnerId(Long ownerId,
+                                                    BookingState state,
+                                                    LocalDateTime now,
+                                                    BookingCursor cursor,
+                                                    int limit);
+}
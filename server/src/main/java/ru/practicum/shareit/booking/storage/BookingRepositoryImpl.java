@@ -0,0 +1,82 @@
+package ru.practicum.shareit.booking.storage;
+
+import lombok.RequiredArgsConstructor;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class BookingRepositoryImpl implements BookingRepositoryCustom {
+    private final EntityManager entityManager;
+
+    @Override
+    public List<BookingResponseDto> findSliceByBookerId(Long bookerId,
+                                                        BookingState state,
+                                                        LocalDateTime now,
+                                                        BookingCursor cursor,
+                                                        int limit) {
+        return findSlice("b.booker.id = :userId", bookerId, state, now, cursor, limit);
+    }
+
+    @Override
+    public List<BookingResponseDto> findSliceByItemOwnerId(Long ownerId,
+                                                           BookingState state,
+                                                           LocalDateTime now,
+                                                           BookingCursor cursor,
+                                                           int limit) {
+        return findSlice("b.item.id IN (SELECT i.id FROM Item i WHERE i.owner.id = :userId)",
+                ownerId, state, now, cursor, limit);
+    }
+
+    private List<BookingResponseDto> findSlice(String userCondition,
+                                               Long userId,
+                                               BookingState state,
+                                               LocalDateTime now,
+                                               BookingCursor cursor,
+                                               int limit) {
+        StringBuilder jpql = new StringBuilder(BookingRepository.SELECT_RESPONSE_DTO).append("WHERE ")
+                .append(userCondition);
+        switch (state) {
+            case PAST:
+                jpql.append(" AND b.end < :now");
+                break;
+            case FUTURE:
+                jpql.append(" AND b.start > :now");
+                break;
+            case CURRENT:
+                jpql.append(" AND b.start < :now AND b.end > :now");
+                break;
+            case WAITING:
+            case REJECTED:
+                jpql.append(" AND b.status = :status");
+                break;
+            default:
+                break;
+        }
+        if (cursor != null) {
+            jpql.append(" AND (b.start < :cursorStart OR (b.start = :cursorStart AND b.id < :cursorId))");
+        }
+        jpql.append(" ORDER BY b.start DESC, b.id DESC");
+
+        TypedQuery<BookingResponseDto> query = entityManager.createQuery(jpql.toString(), BookingResponseDto.class)
+                .setParameter("userId", userId)
+                .setMaxResults(limit);
+        if (state == BookingState.PAST || state == BookingState.FUTURE || state == BookingState.CURRENT) {
+            query.setParameter("now", now);
+        }
+        if (state == BookingState.WAITING || state == BookingState.REJECTED) {
+            query.setParameter("status", BookingStatus.valueOf(state.name()));
+        }
+        if (cursor != null) {
+            query.setParameter("cursorStart", cursor.getStart())
+                    .setParameter("cursorId", cursor.getId());
+        }
+        return query.getResultList();
+    }
+}
@@ -0,0 +1,6 @@
+package ru.practicum.shareit.cache;
+
+public enum EvictionPolicy {
+    LRU,
+    FIFO
+}
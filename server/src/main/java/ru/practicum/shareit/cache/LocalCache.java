@@ -0,0 +1,136 @@
+package ru.practicum.shareit.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+public class LocalCache<K, V> {
+    private final int maxSize;
+    private final long ttlNanos;
+    private final Function<? super V, Duration> expireAfter;
+    private final Map<K, Entry<V>> entries;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+    private long invalidations;
+
+    public LocalCache(String name, LocalCacheProperties.Spec spec, MeterRegistry meterRegistry) {
+        this(name, spec, meterRegistry, value -> spec.getTtl());
+    }
+
+    public LocalCache(String name,
+                      LocalCacheProperties.Spec spec,
+                      MeterRegistry meterRegistry,
+                      Function<? super V, Duration> expireAfter) {
+        if (spec.getMaxSize() < 0) {
+            throw new IllegalArgumentException(String.format("Cache %s size must not be negative", name));
+        }
+        this.maxSize = spec.getMaxSize();
+        this.ttlNanos = spec.getTtl().toNanos();
+        this.expireAfter = expireAfter;
+        this.entries = new LinkedHashMap<>(16, 0.75f, spec.getEvictionPolicy() == EvictionPolicy.LRU);
+        this.hits = Counter.builder("cache.gets")
+                .tag("cache", name)
+                .tag("result", "hit")
+                .description("Lookups served from the cache")
+                .register(meterRegistry);
+        this.misses = Counter.builder("cache.gets")
+                .tag("cache", name)
+                .tag("result", "miss")
+                .description("Lookups that went to the database")
+                .register(meterRegistry);
+        this.evictions = Counter.builder("cache.evictions")
+                .tag("cache", name)
+                .description("Entries evicted from the cache by size limit")
+                .register(meterRegistry);
+        Gauge.builder("cache.size", this, LocalCache::size)
+                .tag("cache", name)
+                .description("Entries held in the cache")
+                .register(meterRegistry);
+    }
+
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        long now = System.nanoTime();
+        long loadedAfter;
+        synchronized (entries) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null && now - entry.expiresAt < 0) {
+                hits.increment();
+                return entry.value;
+            }
+            loadedAfter = invalidations;
+        }
+        misses.increment();
+        V value = loader.apply(key);
+        if (value != null) {
+            long ttl = Math.min(ttlNanos, expireAfter.apply(value).toNanos());
+            put(key, new Entry<>(value, now + ttl), loadedAfter);
+        }
+        return value;
+    }
+
+    public void evict(K key) {
+        remove(key);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                // afterCommit runs before any afterCompletion, so entries reloaded before the commit are
+                // gone before locks released in afterCompletion let the next writer read them
+                @Override
+                public void afterCommit() {
+                    remove(key);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    remove(key);
+                }
+            });
+        }
+    }
+
+    private void put(K key, Entry<V> entry, long loadedAfter) {
+        synchronized (entries) {
+            if (invalidations != loadedAfter) {
+                return;
+            }
+            entries.put(key, entry);
+            Iterator<Entry<V>> eldest = entries.values().iterator();
+            while (entries.size() > maxSize) {
+                eldest.next();
+                eldest.remove();
+                evictions.increment();
+            }
+        }
+    }
+
+    private void remove(K key) {
+        synchronized (entries) {
+            entries.remove(key);
+            invalidations++;
+        }
+    }
+
+    private int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long expiresAt;
+
+        private Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "shareit")
+public class LocalCacheProperties {
+    private Map<String, Spec> cache = new HashMap<>();
+
+    public Spec spec(String name) {
+        return cache.getOrDefault(name, new Spec());
+    }
+
+    @Getter
+    @Setter
+    public static class Spec {
+        private int maxSize = 10000;
+        private Duration ttl = Duration.ofMinutes(5);
+        private EvictionPolicy evictionPolicy = EvictionPolicy.LRU;
+    }
+}
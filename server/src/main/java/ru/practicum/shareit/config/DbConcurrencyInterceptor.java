@@ -0,0 +1,44 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.web.servlet.HandlerInterceptor;
+import ru.practicum.shareit.exception.ServiceUnavailableException;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+public class DbConcurrencyInterceptor implements HandlerInterceptor {
+    private final Semaphore permits;
+    private final Duration acquireTimeout;
+
+    public DbConcurrencyInterceptor(int maxConcurrency, Duration acquireTimeout) {
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws InterruptedException {
+        // an async request keeps the permit taken on its initial dispatch until afterCompletion of the async one
+        if (request != null && request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        if (!permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            throw new ServiceUnavailableException("Too many concurrent requests, try again later");
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        permits.release();
+    }
+
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+}
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "shareit.threads")
+public class ThreadsProperties {
+    private boolean virtual = false;
+    private int dbMaxConcurrency = 10;
+    private Duration dbAcquireTimeout = Duration.ofSeconds(5);
+}
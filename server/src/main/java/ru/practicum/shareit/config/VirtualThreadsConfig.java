@@ -0,0 +1,48 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.concurrent.ExecutorService;
+
+@Configuration
+@ConditionalOnProperty(name = "shareit.threads.virtual", havingValue = "true")
+public class VirtualThreadsConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService tomcatVirtualThreadExecutor() {
+        return VirtualThreads.newThreadPerTaskExecutor();
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer(
+            ExecutorService tomcatVirtualThreadExecutor) {
+        return protocolHandler -> protocolHandler.setExecutor(tomcatVirtualThreadExecutor);
+    }
+
+    @Bean
+    public DbConcurrencyInterceptor dbConcurrencyInterceptor(ThreadsProperties properties,
+                                                             MeterRegistry meterRegistry) {
+        DbConcurrencyInterceptor interceptor = new DbConcurrencyInterceptor(properties.getDbMaxConcurrency(),
+                properties.getDbAcquireTimeout());
+        Gauge.builder("shareit.db.permits.available", interceptor, DbConcurrencyInterceptor::availablePermits)
+                .register(meterRegistry);
+        return interceptor;
+    }
+
+    @Bean
+    public WebMvcConfigurer dbConcurrencyConfigurer(DbConcurrencyInterceptor dbConcurrencyInterceptor) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(dbConcurrencyInterceptor);
+            }
+        };
+    }
+}
@@ -1,12 +1,16 @@
 package ru.practicum.shareit.exception.handler;
 
+import io.micrometer.core.instrument.Metrics;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import ru.practicum.shareit.exception.AccessDeniedException;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.ServiceUnavailableException;
 
 import javax.validation.ValidationException;
 
@@ -18,27 +22,58 @@ public class CommonHandler {
     @ResponseStatus(HttpStatus.NOT_FOUND)
     public ExceptionResponse handleNotFound(NotFoundException e) {
         log.debug(e.getMessage(), e);
-        return new ExceptionResponse(e.getMessage());
+        return toResponse(e, HttpStatus.NOT_FOUND);
     }
 
     @ExceptionHandler
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ExceptionResponse handleValidation(ValidationException e) {
         log.debug(e.getMessage(), e);
-        return new ExceptionResponse(e.getMessage());
+        return toResponse(e, HttpStatus.BAD_REQUEST);
     }
 
     @ExceptionHandler
     @ResponseStatus(HttpStatus.FORBIDDEN)
     public ExceptionResponse handleAccessDenied(AccessDeniedException e) {
         log.debug(e.getMessage(), e);
-        return new ExceptionResponse(e.getMessage());
+        return toResponse(e, HttpStatus.FORBIDDEN);
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ExceptionResponse handleConflict(ConflictException e) {
+        log.debug(e.getMessage(), e);
+        return toResponse(e, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ExceptionResponse handleConcurrentUpdate(OptimisticLockingFailureException e) {
+        log.debug(e.getMessage(), e);
+        return toResponse(e, HttpStatus.CONFLICT, "Entity was modified concurrently, reload and try again");
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ExceptionResponse handleServiceUnavailable(ServiceUnavailableException e) {
+        log.warn(e.getMessage());
+        return toResponse(e, HttpStatus.SERVICE_UNAVAILABLE);
     }
 
     @ExceptionHandler
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public ExceptionResponse handleException(Exception e) {
         log.debug(e.getMessage(), e);
-        return new ExceptionResponse(e.getMessage());
+        return toResponse(e, HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+
+    private ExceptionResponse toResponse(Exception e, HttpStatus status) {
+        return toResponse(e, status, e.getMessage());
+    }
+
+    private ExceptionResponse toResponse(Exception e, HttpStatus status, String message) {
+        Metrics.counter("shareit.errors", "exception", e.getClass().getSimpleName(),
+                "status", String.valueOf(status.value())).increment();
+        return new ExceptionResponse(message);
     }
-}
\ No newline at end of file
+}
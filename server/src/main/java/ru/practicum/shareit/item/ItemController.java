@@ -1,17 +1,28 @@
 package ru.practicum.shareit.item;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.item.dto.*;
+import ru.practicum.shareit.item.service.ItemImportService;
 import ru.practicum.shareit.item.service.ItemService;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/items")
 @RequiredArgsConstructor
 public class ItemController {
     private final ItemService itemService;
+    private final ItemImportService itemImportService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public ItemResponseDto addNew(@RequestBody ItemRequestDto itemRequestDto,
@@ -19,6 +30,27 @@ public class ItemController {
         return itemService.addNew(itemRequestDto, userId);
     }
 
+    @PostMapping(path = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public void addNewBulk(@RequestHeader("X-Sharer-User-Id") Long userId,
+                           HttpServletRequest request,
+                           HttpServletResponse response) throws IOException {
+        BufferedReader ndjson = new BufferedReader(
+                new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8));
+        itemImportService.addNewBulk(ndjson, userId, results -> {
+            try {
+                response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+                OutputStream out = response.getOutputStream();
+                for (ItemImportResult result : results) {
+                    out.write(objectMapper.writeValueAsBytes(result));
+                    out.write('\n');
+                }
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
     @PatchMapping("/{itemId}")
     public ItemResponseDto patchUpdate(@RequestBody ItemRequestDto itemRequestDto,
                                           @PathVariable Long itemId,
@@ -27,7 +59,13 @@ public class ItemController {
     }
 
     @GetMapping("/{itemId}")
-    public ExtendedItemResponseDto getById(@PathVariable Long itemId, @RequestHeader("X-Sharer-User-Id") Long userId) {
+    public ExtendedItemResponseDto getById(@PathVariable Long itemId,
+                                           @RequestHeader("X-Sharer-User-Id") Long userId,
+                                           WebRequest request) {
+        Optional<String> etag = itemService.getEtag(itemId, userId);
+        if (etag.isPresent() && request.checkNotModified(etag.get())) {
+            return null;
+        }
         return itemService.getById(itemId, userId);
     }
 
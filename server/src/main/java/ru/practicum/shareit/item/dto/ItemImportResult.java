@@ -0,0 +1,18 @@
+package ru.practicum.shareit.item.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ItemImportResult {
+    private int line;
+
+    private int status;
+
+    private ItemResponseDto item;
+
+    private String error;
+}
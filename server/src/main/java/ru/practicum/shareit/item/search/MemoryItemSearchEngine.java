@@ -0,0 +1,266 @@
+package ru.practicum.shareit.item.search;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.storage.ItemRepository;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "memory")
+public class MemoryItemSearchEngine implements ItemSearchEngine, SmartInitializingSingleton {
+    private static final int GRAM_LENGTH = 3;
+
+    private final ItemRepository itemRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Timer rebuildTimer;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private NavigableMap<Long, Document> documents = new TreeMap<>();
+    private Map<String, Postings> postings = new HashMap<>();
+
+    public MemoryItemSearchEngine(ItemRepository itemRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry) {
+        this.itemRepository = itemRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.rebuildTimer = Timer.builder("shareit.search.index.rebuild")
+                .description("Time spent rebuilding the in-memory item search index")
+                .register(meterRegistry);
+        Gauge.builder("shareit.search.index.items", this, MemoryItemSearchEngine::documentCount)
+                .description("Available items in the in-memory search index")
+                .register(meterRegistry);
+        Gauge.builder("shareit.search.index.terms", this, MemoryItemSearchEngine::termCount)
+                .description("Distinct trigrams in the in-memory search index")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    public void rebuild() {
+        NavigableMap<Long, Document> newDocuments = new TreeMap<>();
+        Map<String, Postings> newPostings = new HashMap<>();
+        rebuildTimer.record(() -> transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<ItemSearchProjection> items = itemRepository.streamAllByAvailableTrueOrderById()) {
+                items.forEach(item -> add(newDocuments, newPostings, item.getId(),
+                        new Document(item.getName(), item.getDescription())));
+            }
+        }));
+        lock.writeLock().lock();
+        try {
+            documents = newDocuments;
+            postings = newPostings;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Item search index rebuilt: {} items, {} terms", newDocuments.size(), newPostings.size());
+    }
+
+    @Override
+    public List<Item> searchAvailable(String text, Pageable pageable) {
+        String query = normalize(text);
+        List<Long> ids = new ArrayList<>(pageable.getPageSize());
+        lock.readLock().lock();
+        try {
+            long skip = pageable.getOffset();
+            Iterator<Map.Entry<Long, Document>> candidates = candidates(query);
+            while (ids.size() < pageable.getPageSize() && candidates.hasNext()) {
+                Map.Entry<Long, Document> candidate = candidates.next();
+                if (!candidate.getValue().contains(query)) {
+                    continue;
+                }
+                if (skip > 0) {
+                    skip--;
+                    continue;
+                }
+                ids.add(candidate.getKey());
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<Long, Item> items = itemRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        return ids.stream()
+                .map(items::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void index(Item item) {
+        Long id = item.getId();
+        Document document = item.isAvailable() ? new Document(item.getName(), item.getDescription()) : null;
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update(id, document);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                update(id, document);
+            }
+        });
+    }
+
+    private void update(Long id, Document document) {
+        lock.writeLock().lock();
+        try {
+            Document previous = documents.remove(id);
+            if (previous != null) {
+                for (String gram : previous.grams()) {
+                    Postings gramPostings = postings.get(gram);
+                    gramPostings.remove(id);
+                    if (gramPostings.size == 0) {
+                        postings.remove(gram);
+                    }
+                }
+            }
+            if (document != null) {
+                add(documents, postings, id, document);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Iterator<Map.Entry<Long, Document>> candidates(String query) {
+        if (query.length() < GRAM_LENGTH) {
+            return documents.entrySet().iterator();
+        }
+        List<Postings> queryPostings = new ArrayList<>();
+        for (String gram : grams(query)) {
+            Postings gramPostings = postings.get(gram);
+            if (gramPostings == null) {
+                return Collections.emptyIterator();
+            }
+            queryPostings.add(gramPostings);
+        }
+        queryPostings.sort(Comparator.comparingInt(p -> p.size));
+        long[] result = Arrays.copyOf(queryPostings.get(0).ids, queryPostings.get(0).size);
+        for (int i = 1; i < queryPostings.size() && result.length > 0; i++) {
+            result = queryPostings.get(i).retainIn(result);
+        }
+        return Arrays.stream(result)
+                .mapToObj(id -> Map.entry(id, documents.get(id)))
+                .iterator();
+    }
+
+    private int documentCount() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int termCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void add(Map<Long, Document> documents, Map<String, Postings> postings, Long id, Document document) {
+        documents.put(id, document);
+        for (String gram : document.grams()) {
+            postings.computeIfAbsent(gram, g -> new Postings()).add(id);
+        }
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toUpperCase(Locale.ROOT);
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    private static final class Document {
+        private final String name;
+        private final String description;
+
+        private Document(String name, String description) {
+            this.name = normalize(name);
+            this.description = normalize(description);
+        }
+
+        private boolean contains(String query) {
+            return name.contains(query) || description.contains(query);
+        }
+
+        private Set<String> grams() {
+            Set<String> grams = MemoryItemSearchEngine.grams(name);
+            grams.addAll(MemoryItemSearchEngine.grams(description));
+            return grams;
+        }
+    }
+
+    private static final class Postings {
+        private long[] ids = new long[4];
+        private int size;
+
+        private void add(long id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0) {
+                return;
+            }
+            position = -position - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, position, ids, position + 1, size - position);
+            ids[position] = id;
+            size++;
+        }
+
+        private void remove(long id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position < 0) {
+                return;
+            }
+            System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+            size--;
+        }
+
+        private long[] retainIn(long[] sortedIds) {
+            long[] result = new long[Math.min(sortedIds.length, size)];
+            int count = 0;
+            for (long id : sortedIds) {
+                if (Arrays.binarySearch(ids, 0, size, id) >= 0) {
+                    result[count++] = id;
+                }
+            }
+            return Arrays.copyOf(result, count);
+        }
+    }
+}
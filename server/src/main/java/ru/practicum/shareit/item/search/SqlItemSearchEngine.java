@@ -0,0 +1,45 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.storage.ItemRepository;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "sql", matchIfMissing = true)
+public class SqlItemSearchEngine implements ItemSearchEngine {
+    private final ItemRepository itemRepository;
+    private final boolean ranked;
+
+    @Autowired
+    public SqlItemSearchEngine(ItemRepository itemRepository, DataSource dataSource) throws MetaDataAccessException {
+        this(itemRepository, DatabaseDriver.fromProductName(JdbcUtils.extractDatabaseMetaData(
+                dataSource, DatabaseMetaData::getDatabaseProductName)) == DatabaseDriver.POSTGRESQL);
+    }
+
+    public SqlItemSearchEngine(ItemRepository itemRepository, boolean ranked) {
+        this.itemRepository = itemRepository;
+        this.ranked = ranked;
+    }
+
+    @Override
+    public List<Item> searchAvailable(String text, Pageable pageable) {
+        if (ranked) {
+            return itemRepository.searchAvailByTextRanked(text, pageable).getContent();
+        }
+        return itemRepository.searchAvailByText(text, pageable).getContent();
+    }
+
+    @Override
+    public void index(Item item) {
+    }
+}
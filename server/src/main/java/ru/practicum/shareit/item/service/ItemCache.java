@@ -0,0 +1,135 @@
+package ru.practicum.shareit.item.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingNearestDto;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.storage.BookingRepository;
+import ru.practicum.shareit.cache.LocalCache;
+import ru.practicum.shareit.cache.LocalCacheProperties;
+import ru.practicum.shareit.item.dto.ExtendedItemResponseDto;
+import ru.practicum.shareit.item.dto.ItemMapper;
+import ru.practicum.shareit.item.storage.CommentRepository;
+import ru.practicum.shareit.item.storage.ItemRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.Optional;
+
+@Component
+public class ItemCache {
+    private static final NearestBookings NO_BOOKINGS = new NearestBookings(null, null);
+
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final CommentRepository commentRepository;
+    private final ItemMapper itemMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final LocalCache<Long, CachedItem> items;
+    private final LocalCache<Long, NearestBookings> nearestBookings;
+
+    public ItemCache(ItemRepository itemRepository,
+                     BookingRepository bookingRepository,
+                     CommentRepository commentRepository,
+                     ItemMapper itemMapper,
+                     PlatformTransactionManager transactionManager,
+                     LocalCacheProperties cacheProperties,
+                     MeterRegistry meterRegistry) {
+        this.itemRepository = itemRepository;
+        this.bookingRepository = bookingRepository;
+        this.commentRepository = commentRepository;
+        this.itemMapper = itemMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.items = new LocalCache<>("items", cacheProperties.spec("items"), meterRegistry);
+        LocalCacheProperties.Spec bookingsSpec = cacheProperties.spec("item-bookings");
+        this.nearestBookings = new LocalCache<>("item-bookings", bookingsSpec, meterRegistry,
+                bookings -> bookings.getNext() == null
+                        ? bookingsSpec.getTtl()
+                        : Duration.between(LocalDateTime.now(), bookings.getNext().getStart()));
+    }
+
+    public Optional<ExtendedItemResponseDto> get(Long itemId, Long userId) {
+        CachedItem item = items.get(itemId, this::loadItem);
+        if (item == null) {
+            return Optional.empty();
+        }
+        NearestBookings bookings = Objects.equals(item.getOwnerId(), userId)
+                ? nearestBookings.get(itemId, this::loadNearestBookings)
+                : NO_BOOKINGS;
+        ExtendedItemResponseDto view = item.getView();
+        return Optional.of(ExtendedItemResponseDto.builder()
+                .id(view.getId())
+                .name(view.getName())
+                .description(view.getDescription())
+                .available(view.getAvailable())
+                .requestId(view.getRequestId())
+                .lastBooking(bookings.getLast())
+                .nextBooking(bookings.getNext())
+                .comments(view.getComments())
+                .build());
+    }
+
+    public Optional<String> etag(Long itemId, Long userId) {
+        CachedItem item = items.get(itemId, this::loadItem);
+        if (item == null) {
+            return Optional.empty();
+        }
+        String etag = item.getVersion() + "-" + item.getView().getComments().size();
+        if (Objects.equals(item.getOwnerId(), userId)) {
+            NearestBookings bookings = nearestBookings.get(itemId, this::loadNearestBookings);
+            etag += "-" + bookingId(bookings.getLast()) + "-" + bookingId(bookings.getNext());
+        }
+        return Optional.of(etag);
+    }
+
+    public void evictItem(Long itemId) {
+        items.evict(itemId);
+    }
+
+    public void evictNearestBookings(Long itemId) {
+        nearestBookings.evict(itemId);
+    }
+
+    private CachedItem loadItem(Long itemId) {
+        return transactionTemplate.execute(status -> itemRepository.findById(itemId)
+                .map(item -> new CachedItem(item.getOwner().getId(), item.getVersion(),
+                        itemMapper.toExtendedItemResponseDto(item, null, null,
+                                commentRepository.findAllByItemId(itemId))))
+                .orElse(null));
+    }
+
+    private NearestBookings loadNearestBookings(Long itemId) {
+        LocalDateTime now = LocalDateTime.now();
+        return transactionTemplate.execute(status -> new NearestBookings(
+                BookingMapper.toBookingNearest(bookingRepository.findFirstByItemIdAndStatusAndStartBeforeOrderByStartDesc(
+                        itemId, BookingStatus.APPROVED, now)),
+                BookingMapper.toBookingNearest(bookingRepository.findFirstByItemIdAndStatusAndStartAfterOrderByStartAsc(
+                        itemId, BookingStatus.APPROVED, now))));
+    }
+
+    private static Long bookingId(BookingNearestDto booking) {
+        return booking == null ? null : booking.getId();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static final class CachedItem {
+        private final Long ownerId;
+        private final Long version;
+        private final ExtendedItemResponseDto view;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static final class NearestBookings {
+        private final BookingNearestDto last;
+        private final BookingNearestDto next;
+    }
+}
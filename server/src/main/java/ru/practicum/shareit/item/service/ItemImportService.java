@@ -0,0 +1,13 @@
+package ru.practicum.shareit.item.service;
+
+import ru.practicum.shareit.item.dto.ItemImportResult;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface ItemImportService {
+    void addNewBulk(BufferedReader ndjson, Long userId, Consumer<List<ItemImportResult>> batchResults)
+            throws IOException;
+}
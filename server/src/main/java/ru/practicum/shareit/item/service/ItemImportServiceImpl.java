@@ -0,0 +1,202 @@
+package ru.practicum.shareit.item.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.dto.ItemImportResult;
+import ru.practicum.shareit.item.dto.ItemMapper;
+import ru.practicum.shareit.item.dto.ItemRequestDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.storage.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserCache;
+import ru.practicum.shareit.user.storage.UserRepository;
+
+import javax.persistence.EntityManager;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+public class ItemImportServiceImpl implements ItemImportService {
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+    private final UserCache userCache;
+    private final ItemRequestRepository itemRequestRepo;
+    private final ItemMapper itemMapper;
+    private final ItemSearchEngine itemSearchEngine;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public ItemImportServiceImpl(ItemRepository itemRepository,
+                                 UserRepository userRepository,
+                                 UserCache userCache,
+                                 ItemRequestRepository itemRequestRepo,
+                                 ItemMapper itemMapper,
+                                 ItemSearchEngine itemSearchEngine,
+                                 ObjectMapper objectMapper,
+                                 EntityManager entityManager,
+                                 PlatformTransactionManager transactionManager,
+                                 ItemImportProperties properties) {
+        this.itemRepository = itemRepository;
+        this.userRepository = userRepository;
+        this.userCache = userCache;
+        this.itemRequestRepo = itemRequestRepo;
+        this.itemMapper = itemMapper;
+        this.itemSearchEngine = itemSearchEngine;
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = properties.getBatchSize();
+    }
+
+    @Override
+    public void addNewBulk(BufferedReader ndjson, Long userId, Consumer<List<ItemImportResult>> batchResults)
+            throws IOException {
+        if (!userCache.exists(userId)) {
+            throw new NotFoundException(String.format("User ID = %d not found!", userId));
+        }
+        List<ImportLine> batch = new ArrayList<>(batchSize);
+        int lineNumber = 0;
+        String json;
+        while ((json = ndjson.readLine()) != null) {
+            lineNumber++;
+            if (json.isBlank()) {
+                continue;
+            }
+            batch.add(new ImportLine(lineNumber, json));
+            if (batch.size() == batchSize) {
+                batchResults.accept(importBatch(batch, userId));
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            batchResults.accept(importBatch(batch, userId));
+        }
+    }
+
+    private List<ItemImportResult> importBatch(List<ImportLine> batch, Long userId) {
+        ItemImportResult[] results = new ItemImportResult[batch.size()];
+        Map<Integer, ItemRequestDto> parsed = new LinkedHashMap<>();
+        for (int i = 0; i < batch.size(); i++) {
+            ImportLine line = batch.get(i);
+            try {
+                ItemRequestDto itemRequestDto = objectMapper.readValue(line.json, ItemRequestDto.class);
+                String missingFields = itemRequestDto != null
+                        ? missingFields(itemRequestDto) : "name, description, available";
+                if (missingFields.isEmpty()) {
+                    parsed.put(i, itemRequestDto);
+                } else {
+                    results[i] = rejected(line.number, HttpStatus.BAD_REQUEST,
+                            String.format("Missing required fields: %s", missingFields));
+                }
+            } catch (JsonProcessingException e) {
+                results[i] = rejected(line.number, HttpStatus.BAD_REQUEST,
+                        String.format("Malformed JSON: %s", e.getOriginalMessage()));
+            }
+        }
+        if (!parsed.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> saveParsed(batch, parsed, results, userId));
+            } catch (DataAccessException | TransactionException e) {
+                log.warn("Item import batch of lines {}-{} rolled back: {}",
+                        batch.get(0).number, batch.get(batch.size() - 1).number, e.getMessage());
+                for (Integer i : parsed.keySet()) {
+                    if (results[i] == null || results[i].getStatus() == HttpStatus.CREATED.value()) {
+                        results[i] = rejected(batch.get(i).number, HttpStatus.INTERNAL_SERVER_ERROR,
+                                "Batch rolled back, line was not imported");
+                    }
+                }
+            }
+            entityManager.clear();
+        }
+        return Arrays.asList(results);
+    }
+
+    private void saveParsed(List<ImportLine> batch, Map<Integer, ItemRequestDto> parsed,
+                            ItemImportResult[] results, Long userId) {
+        User owner = userRepository.getReferenceById(userId);
+        Set<Long> requestIds = parsed.values().stream()
+                .map(ItemRequestDto::getRequestId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, ItemRequest> requests = requestIds.isEmpty() ? Collections.emptyMap()
+                : itemRequestRepo.findAllById(requestIds).stream()
+                .collect(Collectors.toMap(ItemRequest::getId, Function.identity()));
+        List<Integer> itemLines = new ArrayList<>(parsed.size());
+        List<Item> items = new ArrayList<>(parsed.size());
+        for (Map.Entry<Integer, ItemRequestDto> entry : parsed.entrySet()) {
+            Long itemRequestId = entry.getValue().getRequestId();
+            if (itemRequestId != null && !requests.containsKey(itemRequestId)) {
+                results[entry.getKey()] = rejected(batch.get(entry.getKey()).number, HttpStatus.NOT_FOUND,
+                        String.format("ItemRequest ID = %d not found!", itemRequestId));
+                continue;
+            }
+            Item item = itemMapper.toItem(entry.getValue());
+            item.setOwner(owner);
+            item.setRequest(itemRequestId != null ? requests.get(itemRequestId) : null);
+            itemLines.add(entry.getKey());
+            items.add(item);
+        }
+        List<Item> savedItems = itemRepository.saveAll(items);
+        itemRepository.flush();
+        for (int i = 0; i < savedItems.size(); i++) {
+            Item savedItem = savedItems.get(i);
+            itemSearchEngine.index(savedItem);
+            int index = itemLines.get(i);
+            results[index] = ItemImportResult.builder()
+                    .line(batch.get(index).number)
+                    .status(HttpStatus.CREATED.value())
+                    .item(itemMapper.toItemResponseDto(savedItem))
+                    .build();
+        }
+    }
+
+    private static String missingFields(ItemRequestDto itemRequestDto) {
+        StringJoiner missing = new StringJoiner(", ");
+        if (itemRequestDto.getName() == null) {
+            missing.add("name");
+        }
+        if (itemRequestDto.getDescription() == null) {
+            missing.add("description");
+        }
+        if (itemRequestDto.getAvailable() == null) {
+            missing.add("available");
+        }
+        return missing.toString();
+    }
+
+    private static ItemImportResult rejected(int line, HttpStatus status, String error) {
+        return ItemImportResult.builder()
+                .line(line)
+                .status(status.value())
+                .error(error)
+                .build();
+    }
+
+    private static final class ImportLine {
+        private final int number;
+        private final String json;
+
+        private ImportLine(int number, String json) {
+            this.number = number;
+            this.json = json;
+        }
+    }
+}
@@ -3,6 +3,7 @@ package ru.practicum.shareit.item.service;
 import ru.practicum.shareit.item.dto.*;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemService {
     ItemResponseDto addNew(ItemRequestDto itemRequestDto, Long userId);
@@ -11,6 +12,8 @@ public interface ItemService {
 
     ExtendedItemResponseDto getById(Long itemId, Long userId);
 
+    Optional<String> getEtag(Long itemId, Long userId);
+
     List<ExtendedItemResponseDto> getAllOwnerItems(Long userId, Integer fromElement, Integer size);
 
     List<ExtendedItemResponseDto> findAvailableByText(String text, Integer fromElement, Integer size);
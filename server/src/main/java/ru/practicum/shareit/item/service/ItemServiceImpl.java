@@ -1,8 +1,8 @@
 package ru.practicum.shareit.item.service;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.BookingMapper;
 import ru.practicum.shareit.booking.dto.BookingNearestDto;
@@ -14,9 +14,12 @@ import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.item.storage.CommentRepository;
 import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
 import ru.practicum.shareit.request.storage.ItemRequestRepository;
+import ru.practicum.shareit.user.service.UserCache;
 import ru.practicum.shareit.user.storage.UserRepository;
 
 import javax.validation.ValidationException;
@@ -30,24 +33,30 @@ import java.util.stream.Collectors;
 public class ItemServiceImpl implements ItemService {
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
+    private final UserCache userCache;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
     private final ItemRequestRepository itemRequestRepo;
     private final ItemMapper itemMapper;
     private final CommentMapper commentMapper;
-
+    private final ItemSearchEngine itemSearchEngine;
+    private final ItemCache itemCache;
 
     @Override
     public ItemResponseDto addNew(ItemRequestDto itemRequestDto, Long userId) {
         Item item = itemMapper.toItem(itemRequestDto);
-        item.setOwner(userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException(String.format("User ID = %d not found!", userId))));
+        if (!userCache.exists(userId)) {
+            throw new NotFoundException(String.format("User ID = %d not found!", userId));
+        }
+        item.setOwner(userRepository.getReferenceById(userId));
         Long itemRequestId = itemRequestDto.getRequestId();
         if (itemRequestId != null) {
             item.setRequest(itemRequestRepo.findById(itemRequestId)
                     .orElseThrow(() -> new NotFoundException(String.format("ItemRequest ID = %d not found!", itemRequestId))));
         }
-        return itemMapper.toItemResponseDto(itemRepository.save(item));
+        Item savedItem = itemRepository.save(item);
+        itemSearchEngine.index(savedItem);
+        return itemMapper.toItemResponseDto(savedItem);
     }
 
     @Override
@@ -66,81 +75,37 @@ public class ItemServiceImpl implements ItemService {
         if (itemRequestDto.getAvailable() != null) {
             item.setAvailable(itemRequestDto.getAvailable());
         }
-        return itemMapper.toItemResponseDto(itemRepository.save(item));
+        Item savedItem = itemRepository.save(item);
+        itemSearchEngine.index(savedItem);
+        itemCache.evictItem(itemId);
+        return itemMapper.toItemResponseDto(savedItem);
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public ExtendedItemResponseDto getById(Long itemId, Long userId) {
-        Item item = itemRepository.findById(itemId)
+        return itemCache.get(itemId, userId)
                 .orElseThrow(() -> new NotFoundException(String.format("Item ID = %d not found!", itemId)));
-        BookingNearestDto lastBooking = null;
-        BookingNearestDto nextBooking = null;
-        if (Objects.equals(item.getOwner().getId(), userId)) {
-            lastBooking = BookingMapper.toBookingNearest(
-                    bookingRepository.findFirstByItemIdAndStatusAndStartBeforeOrderByStartDesc(
-                            itemId, BookingStatus.APPROVED, LocalDateTime.now()));
-            nextBooking = BookingMapper.toBookingNearest(
-                    bookingRepository.findFirstByItemIdAndStatusAndStartAfterOrderByStartAsc(
-                            itemId, BookingStatus.APPROVED, LocalDateTime.now()));
-        }
-        List<Comment> comments = commentRepository.findAllByItemId(itemId);
-        return itemMapper.toExtendedItemResponseDto(item, lastBooking, nextBooking, comments);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Optional<String> getEtag(Long itemId, Long userId) {
+        return itemCache.etag(itemId, userId);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<ExtendedItemResponseDto> getAllOwnerItems(Long userId, Integer fromElement, Integer size) {
-        int fromPage = fromElement / size;
-        List<Booking> unfilteredBookings = bookingRepository
-                .findAllByItemOwnerIdAndStatus(userId, BookingStatus.APPROVED);
-        List<Comment> unfilteredComments = commentRepository.findAll();
-
-        return itemRepository.findAllByOwnerId(userId, PageRequest.of(fromPage, size)).stream()
-                .map(item -> itemMapper.toExtendedItemResponseDto(item,
-                        unfilteredBookings.stream()
-                                .filter(booking -> Objects.equals(booking.getItem().getId(), item.getId()) &&
-                                        booking.getStart().isBefore(LocalDateTime.now()))
-                                .map(BookingMapper::toBookingNearest)
-                                .max(Comparator.comparing(BookingNearestDto::getStart, LocalDateTime::compareTo))
-                                .orElse(null),
-                        unfilteredBookings.stream()
-                                .filter(booking -> Objects.equals(booking.getItem().getId(), item.getId()) &&
-                                        booking.getStart().isAfter(LocalDateTime.now()))
-                                .map(BookingMapper::toBookingNearest)
-                                .min(Comparator.comparing(BookingNearestDto::getStart, LocalDateTime::compareTo))
-                                .orElse(null),
-                        unfilteredComments.stream()
-                                .filter(comment -> Objects.equals(comment.getItem().getId(), item.getId()))
-                                .collect(Collectors.toList())))
-                .collect(Collectors.toList());
+        return toExtendedItemResponseDtos(
+                itemRepository.findAllByOwnerId(userId, OffsetPageRequest.of(fromElement, size)).getContent());
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<ExtendedItemResponseDto> findAvailableByText(String text, Integer fromElement, Integer size) {
-        int fromPage = fromElement / size;
-        List<Booking> unfilteredBookings = bookingRepository
-                .findAllByStatus(BookingStatus.APPROVED);
-        List<Comment> unfilteredComments = commentRepository.findAll();
-        return itemRepository.searchAvailByText(text, PageRequest.of(fromPage, size)).stream()
-                .map(item -> itemMapper.toExtendedItemResponseDto(item,
-                        unfilteredBookings.stream()
-                                .filter(booking -> Objects.equals(booking.getItem().getId(), item.getId()) &&
-                                        booking.getStart().isBefore(LocalDateTime.now()))
-                                .map(BookingMapper::toBookingNearest)
-                                .max(Comparator.comparing(BookingNearestDto::getStart, LocalDateTime::compareTo))
-                                .orElse(null),
-                        unfilteredBookings.stream()
-                                .filter(booking -> Objects.equals(booking.getItem().getId(), item.getId()) &&
-                                        booking.getStart().isAfter(LocalDateTime.now()))
-                                .map(BookingMapper::toBookingNearest)
-                                .min(Comparator.comparing(BookingNearestDto::getStart, LocalDateTime::compareTo))
-                                .orElse(null),
-                        unfilteredComments.stream()
-                                .filter(comment -> Objects.equals(comment.getItem().getId(), item.getId()))
-                                .collect(Collectors.toList())))
-                .collect(Collectors.toList());
+        return toExtendedItemResponseDtos(
+                itemSearchEngine.searchAvailable(text, OffsetPageRequest.of(fromElement, size)));
     }
 
     @Override
@@ -154,6 +119,34 @@ public class ItemServiceImpl implements ItemService {
                 .orElseThrow(() -> new NotFoundException(String.format("Item ID = %d not found!", itemId))));
         comment.setAuthor(userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException(String.format("User ID = %d not found!", userId))));
-        return commentMapper.toCommentResponseDto(commentRepository.save(comment));
+        Comment savedComment = commentRepository.save(comment);
+        itemCache.evictItem(itemId);
+        return commentMapper.toCommentResponseDto(savedComment);
+    }
+
+    private List<ExtendedItemResponseDto> toExtendedItemResponseDtos(List<Item> items) {
+        if (items.isEmpty()) {
+            return Collections.emptyList();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> itemIds = items.stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+        Map<Long, BookingNearestDto> lastBookings = new HashMap<>();
+        Map<Long, BookingNearestDto> nextBookings = new HashMap<>();
+        for (Booking booking : bookingRepository.findLastAndNextByItemIdInAndStatus(
+                itemIds, BookingStatus.APPROVED, now)) {
+            Map<Long, BookingNearestDto> nearestBookings = booking.getStart().isBefore(now) ? lastBookings : nextBookings;
+            nearestBookings.putIfAbsent(booking.getItem().getId(), BookingMapper.toBookingNearest(booking));
+        }
+        Map<Long, List<Comment>> comments = commentRepository.findAllByItemIdIn(itemIds).stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId()));
+
+        return items.stream()
+                .map(item -> itemMapper.toExtendedItemResponseDto(item,
+                        lastBookings.get(item.getId()),
+                        nextBookings.get(item.getId()),
+                        comments.getOrDefault(item.getId(), Collections.emptyList())))
+                .collect(Collectors.toList());
     }
 }
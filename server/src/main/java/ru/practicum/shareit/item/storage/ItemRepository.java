@@ -1,13 +1,21 @@
 package ru.practicum.shareit.item.storage;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchProjection;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Long> {
@@ -15,20 +23,31 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
             "FROM Item it " +
             "JOIN FETCH it.owner ow " +
             "WHERE ow.id = ?1 " +
-            "ORDER BY it.id",
-            countQuery = "SELECT count(*) " +
-                    "FROM Item it " +
-                    "JOIN it.owner ow " +
-                    "WHERE ow.id = ?1 ")
-    Page<Item> findAllByOwnerId(Long ownerId, Pageable pageable);
+            "ORDER BY it.id")
+    Slice<Item> findAllByOwnerId(Long ownerId, Pageable pageable);
 
     @Query(" select it from Item it " +
             "where it.available = true " +
             "AND( upper(it.name) like upper(concat('%', ?1, '%')) " +
-            " or upper(it.description) like upper(concat('%', ?1, '%')))")
-    Page<Item> searchAvailByText(String text, Pageable pageable);
+            " or upper(it.description) like upper(concat('%', ?1, '%'))) " +
+            "order by it.id")
+    Slice<Item> searchAvailByText(String text, Pageable pageable);
+
+    @Query(value = "SELECT it.* FROM items it " +
+            "WHERE it.is_available = true " +
+            "AND (upper(it.name) LIKE '%' || upper(:text) || '%' " +
+            " OR upper(it.description) LIKE '%' || upper(:text) || '%') " +
+            "ORDER BY similarity(upper(it.name), upper(:text)) DESC, " +
+            "similarity(upper(it.description), upper(:text)) DESC, it.id",
+            nativeQuery = true)
+    Slice<Item> searchAvailByTextRanked(@Param("text") String text, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    Stream<ItemSearchProjection> streamAllByAvailableTrueOrderById();
 
+    @Query("SELECT it FROM Item it WHERE it.request.id = ?1")
     List<Item> findAllByRequestId(Long requestId);
 
-    List<Item> findAllByRequestIdNotNull();
+    @Query("SELECT it FROM Item it WHERE it.request.id IN ?1 ORDER BY it.id")
+    List<Item> findAllByRequestIdIn(Collection<Long> requestIds);
 }
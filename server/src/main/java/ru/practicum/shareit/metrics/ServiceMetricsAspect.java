@@ -0,0 +1,62 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+    private final MeterRegistry meterRegistry;
+
+    @Around("execution(public * ru.practicum.shareit.item.service.ItemService+.*(..))"
+            + " || execution(public * ru.practicum.shareit.item.service.ItemImportService+.*(..))"
+            + " || execution(public * ru.practicum.shareit.booking.service.BookingService+.*(..))"
+            + " || execution(public * ru.practicum.shareit.request.service.ItemRequestService+.*(..))"
+            + " || execution(public * ru.practicum.shareit.user.service.UserService+.*(..))")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        String service = joinPoint.getSignature().getDeclaringType().getSimpleName();
+        String method = joinPoint.getSignature().getName();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            Object result = joinPoint.proceed();
+            recordRows(service, method, result);
+            return result;
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("shareit.service")
+                    .tag("service", service)
+                    .tag("method", method)
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+
+    private void recordRows(String service, String method, Object result) {
+        int rows;
+        if (result instanceof Collection) {
+            rows = ((Collection<?>) result).size();
+        } else if (result instanceof Slice) {
+            rows = ((Slice<?>) result).getNumberOfElements();
+        } else {
+            return;
+        }
+        DistributionSummary.builder("shareit.service.rows")
+                .tag("service", service)
+                .tag("method", method)
+                .register(meterRegistry)
+                .record(rows);
+    }
+}
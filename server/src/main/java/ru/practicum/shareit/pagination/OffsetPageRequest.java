@@ -0,0 +1,66 @@
+package ru.practicum.shareit.pagination;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+@Getter
+@ToString
+@EqualsAndHashCode
+public class OffsetPageRequest implements Pageable {
+    private final long offset;
+    private final int pageSize;
+    private final Sort sort;
+
+    private OffsetPageRequest(long offset, int pageSize, Sort sort) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset must not be negative");
+        }
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        this.offset = offset;
+        this.pageSize = pageSize;
+        this.sort = sort;
+    }
+
+    public static OffsetPageRequest of(long offset, int pageSize) {
+        return of(offset, pageSize, Sort.unsorted());
+    }
+
+    public static OffsetPageRequest of(long offset, int pageSize, Sort sort) {
+        return new OffsetPageRequest(offset, pageSize, sort);
+    }
+
+    @Override
+    public int getPageNumber() {
+        return (int) (offset / pageSize);
+    }
+
+    @Override
+    public Pageable next() {
+        return new OffsetPageRequest(offset + pageSize, pageSize, sort);
+    }
+
+    @Override
+    public Pageable previousOrFirst() {
+        return hasPrevious() ? new OffsetPageRequest(Math.max(offset - pageSize, 0), pageSize, sort) : first();
+    }
+
+    @Override
+    public Pageable first() {
+        return new OffsetPageRequest(0, pageSize, sort);
+    }
+
+    @Override
+    public Pageable withPage(int pageNumber) {
+        return new OffsetPageRequest((long) pageNumber * pageSize, pageSize, sort);
+    }
+
+    @Override
+    public boolean hasPrevious() {
+        return offset > 0;
+    }
+}
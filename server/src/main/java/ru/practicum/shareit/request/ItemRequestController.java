@@ -2,11 +2,13 @@ package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.request.dto.ItemRequestWithItemsDto;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.service.ItemRequestService;
 
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping(path = "/requests")
@@ -34,7 +36,12 @@ public class ItemRequestController {
 
     @GetMapping("/{requestId}")
     public ItemRequestWithItemsDto getById(@PathVariable Long requestId,
-                                           @RequestHeader("X-Sharer-User-Id") Long userId) {
+                                           @RequestHeader("X-Sharer-User-Id") Long userId,
+                                           WebRequest request) {
+        Optional<String> etag = itemRequestService.getEtag(requestId, userId);
+        if (etag.isPresent() && request.checkNotModified(etag.get())) {
+            return null;
+        }
         return itemRequestService.getById(requestId, userId);
     }
 }
@@ -1,5 +1,7 @@
 package ru.practicum.shareit.request.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import lombok.*;
 import ru.practicum.shareit.user.model.User;
 
@@ -7,6 +9,7 @@ import javax.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @Table(name = "requests")
 @Getter
 @Setter
@@ -15,16 +18,21 @@ import java.time.LocalDateTime;
 @Builder
 public class ItemRequest {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "requests_seq")
+    @SequenceGenerator(name = "requests_seq", sequenceName = "requests_seq", allocationSize = 50)
     private Long id;
 
     @Column(length = 2000, nullable = false)
     private String description;
 
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "requestor_id", nullable = false)
     private User requester;
 
     @Column(nullable = false)
     private LocalDateTime created = LocalDateTime.now();
+
+    @Version
+    @JsonIgnore
+    private Long version;
 }
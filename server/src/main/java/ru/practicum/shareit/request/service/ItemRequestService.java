@@ -4,6 +4,7 @@ import ru.practicum.shareit.request.dto.ItemRequestWithItemsDto;
 import ru.practicum.shareit.request.model.ItemRequest;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRequestService {
     ItemRequest addNew(ItemRequest itemRequest, Long userId);
@@ -13,4 +14,6 @@ public interface ItemRequestService {
     List<ItemRequestWithItemsDto> getAllByPages(Long userId, Integer fromElement, Integer size);
 
     ItemRequestWithItemsDto getById(Long requestId, Long userId);
+
+    Optional<String> getEtag(Long requestId, Long userId);
 }
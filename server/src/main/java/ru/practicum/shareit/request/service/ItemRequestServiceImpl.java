@@ -1,7 +1,6 @@
 package ru.practicum.shareit.request.service;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -9,14 +8,19 @@ import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.dto.ItemMapper;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
 import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
 import ru.practicum.shareit.request.dto.ItemRequestMapper;
 import ru.practicum.shareit.request.dto.ItemRequestWithItemsDto;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.storage.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserCache;
 import ru.practicum.shareit.user.storage.UserRepository;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
@@ -25,6 +29,7 @@ import java.util.stream.Collectors;
 public class ItemRequestServiceImpl implements ItemRequestService {
     private final ItemRequestRepository itemRequestRepo;
     private final UserRepository userRepo;
+    private final UserCache userCache;
     private final ItemRepository itemRepo;
     private final ItemRequestMapper itemRequestMapper;
     private final ItemMapper itemMapper;
@@ -40,45 +45,24 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     @Override
     @Transactional(readOnly = true)
     public List<ItemRequestWithItemsDto> getAllOwn(Long ownerId) {
-        if (!userRepo.existsById(ownerId)) {
+        if (!userCache.exists(ownerId)) {
             throw new NotFoundException(String.format("User ID = %d not found!", ownerId));
         }
-        List<ItemResponseDto> unfilteredItems = itemRepo.findAllByRequestIdNotNull().stream()
-                .map(itemMapper::toItemResponseDto)
-                .collect(Collectors.toList());
-        return itemRequestRepo.findAllByRequesterId(ownerId).stream()
-                .map(itemRequestMapper::toItemRequestWithItemsDto)
-                .peek(itemRequestWithItemsDto -> itemRequestWithItemsDto.setItems(
-                        unfilteredItems.stream()
-                                .filter(itemWithIdResponseDto ->
-                                        itemWithIdResponseDto.getRequestId().equals(itemRequestWithItemsDto.getId()))
-                                .collect(Collectors.toList())))
-                .collect(Collectors.toList());
+        return toItemRequestWithItemsDtos(itemRequestRepo.findAllByRequesterId(ownerId));
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<ItemRequestWithItemsDto> getAllByPages(Long userId, Integer fromElement, Integer size) {
-        int fromPage = fromElement / size;
-        List<ItemResponseDto> unfilteredItems = itemRepo.findAllByRequestIdNotNull().stream()
-                .map(itemMapper::toItemResponseDto)
-                .collect(Collectors.toList());
-        return itemRequestRepo.findAllByRequesterIdNot(
-                        userId, PageRequest.of(fromPage, size, Sort.by(Sort.Direction.DESC, "created")))
-                .stream()
-                .map(itemRequestMapper::toItemRequestWithItemsDto)
-                .peek(itemRequestWithItemsDto -> itemRequestWithItemsDto.setItems(
-                        unfilteredItems.stream()
-                                .filter(itemWithIdResponseDto ->
-                                        itemWithIdResponseDto.getRequestId().equals(itemRequestWithItemsDto.getId()))
-                                .collect(Collectors.toList())))
-                .collect(Collectors.toList());
+        return toItemRequestWithItemsDtos(itemRequestRepo.findAllByRequesterIdNot(
+                        userId, OffsetPageRequest.of(fromElement, size, Sort.by(Sort.Direction.DESC, "created")))
+                .getContent());
     }
 
     @Override
     @Transactional(readOnly = true)
     public ItemRequestWithItemsDto getById(Long requestId, Long userId) {
-        if (!userRepo.existsById(userId)) {
+        if (!userCache.exists(userId)) {
             throw new NotFoundException(String.format("User ID = %d not found!", userId));
         }
         ItemRequestWithItemsDto itemRequestWithItemsDto = itemRequestMapper.toItemRequestWithItemsDto(
@@ -90,4 +74,31 @@ public class ItemRequestServiceImpl implements ItemRequestService {
                 .collect(Collectors.toList()));
         return itemRequestWithItemsDto;
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<String> getEtag(Long requestId, Long userId) {
+        if (!userCache.exists(userId)) {
+            return Optional.empty();
+        }
+        return itemRequestRepo.findVersionById(requestId)
+                .map(version -> version.getVersion() + "-" + version.getItems() + "-" + version.getItemVersions());
+    }
+
+    private List<ItemRequestWithItemsDto> toItemRequestWithItemsDtos(List<ItemRequest> itemRequests) {
+        if (itemRequests.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Long> requestIds = itemRequests.stream()
+                .map(ItemRequest::getId)
+                .collect(Collectors.toList());
+        Map<Long, List<ItemResponseDto>> itemsByRequestId = itemRepo.findAllByRequestIdIn(requestIds).stream()
+                .map(itemMapper::toItemResponseDto)
+                .collect(Collectors.groupingBy(ItemResponseDto::getRequestId));
+        return itemRequests.stream()
+                .map(itemRequestMapper::toItemRequestWithItemsDto)
+                .peek(itemRequestWithItemsDto -> itemRequestWithItemsDto.setItems(
+                        itemsByRequestId.getOrDefault(itemRequestWithItemsDto.getId(), Collections.emptyList())))
+                .collect(Collectors.toList());
+    }
 }
@@ -1,14 +1,22 @@
 package ru.practicum.shareit.request.storage;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.request.model.ItemRequest;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
     List<ItemRequest> findAllByRequesterId(Long requesterId);
 
-    Page<ItemRequest> findAllByRequesterIdNot(Long requesterId, Pageable pageable);
+    Slice<ItemRequest> findAllByRequesterIdNot(Long requesterId, Pageable pageable);
+
+    @Query("SELECT r.version AS version, COUNT(it.id) AS items, COALESCE(SUM(it.version), 0) AS itemVersions " +
+            "FROM ItemRequest r LEFT JOIN Item it ON it.request = r " +
+            "WHERE r.id = ?1 " +
+            "GROUP BY r.version")
+    Optional<ItemRequestVersion> findVersionById(Long requestId);
 }
@@ -0,0 +1,9 @@
+package ru.practicum.shareit.request.storage;
+
+public interface ItemRequestVersion {
+    Long getVersion();
+
+    Long getItems();
+
+    Long getItemVersions();
+}
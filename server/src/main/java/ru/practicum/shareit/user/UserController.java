@@ -2,11 +2,13 @@ package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.user.dto.UserResponseDto;
 import ru.practicum.shareit.user.dto.UserRequestDto;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping(path = "/users")
@@ -25,7 +27,11 @@ public class UserController {
     }
 
     @GetMapping("/{id}")
-    public UserResponseDto getById(@PathVariable Long id) {
+    public UserResponseDto getById(@PathVariable Long id, WebRequest request) {
+        Optional<String> etag = userService.getEtag(id);
+        if (etag.isPresent() && request.checkNotModified(etag.get())) {
+            return null;
+        }
         return userService.getById(id);
     }
 
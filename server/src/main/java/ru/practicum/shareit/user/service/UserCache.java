@@ -0,0 +1,58 @@
+package ru.practicum.shareit.user.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.cache.LocalCache;
+import ru.practicum.shareit.cache.LocalCacheProperties;
+import ru.practicum.shareit.user.dto.UserMapper;
+import ru.practicum.shareit.user.dto.UserResponseDto;
+import ru.practicum.shareit.user.storage.UserRepository;
+
+import java.util.Optional;
+
+@Component
+public class UserCache {
+    private final UserRepository userRepository;
+    private final UserMapper userMapper;
+    private final LocalCache<Long, CachedUser> users;
+
+    public UserCache(UserRepository userRepository,
+                     UserMapper userMapper,
+                     LocalCacheProperties cacheProperties,
+                     MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.userMapper = userMapper;
+        this.users = new LocalCache<>("users", cacheProperties.spec("users"), meterRegistry);
+    }
+
+    public Optional<UserResponseDto> get(Long id) {
+        return load(id).map(CachedUser::getView);
+    }
+
+    public Optional<String> etag(Long id) {
+        return load(id).map(user -> String.valueOf(user.getVersion()));
+    }
+
+    public boolean exists(Long id) {
+        return load(id).isPresent();
+    }
+
+    public void evict(Long id) {
+        users.evict(id);
+    }
+
+    private Optional<CachedUser> load(Long id) {
+        return Optional.ofNullable(users.get(id, userId -> userRepository.findById(userId)
+                .map(user -> new CachedUser(user.getVersion(), userMapper.toUserResponseDto(user)))
+                .orElse(null)));
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static final class CachedUser {
+        private final Long version;
+        private final UserResponseDto view;
+    }
+}
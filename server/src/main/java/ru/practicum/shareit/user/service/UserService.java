@@ -4,12 +4,15 @@ import ru.practicum.shareit.user.dto.UserResponseDto;
 import ru.practicum.shareit.user.dto.UserRequestDto;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface UserService {
     UserResponseDto addNew(UserRequestDto userRequestDto);
 
     UserResponseDto getById(Long id);
 
+    Optional<String> getEtag(Long id);
+
     List<UserResponseDto> getAll();
 
     UserResponseDto patchUpdate(Long id, UserRequestDto userRequestDto);
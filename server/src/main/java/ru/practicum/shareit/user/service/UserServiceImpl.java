@@ -11,6 +11,7 @@ import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.storage.UserRepository;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
@@ -19,6 +20,7 @@ import java.util.stream.Collectors;
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final UserCache userCache;
 
     @Override
     public UserResponseDto addNew(UserRequestDto userRequestDto) {
@@ -29,8 +31,14 @@ public class UserServiceImpl implements UserService {
     @Override
     @Transactional(readOnly = true)
     public UserResponseDto getById(Long id) {
-        return userMapper.toUserResponseDto(userRepository.findById(id)
-                .orElseThrow(() -> new NotFoundException(String.format("User ID = %d not found!", id))));
+        return userCache.get(id)
+                .orElseThrow(() -> new NotFoundException(String.format("User ID = %d not found!", id)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<String> getEtag(Long id) {
+        return userCache.etag(id);
     }
 
     @Override
@@ -51,11 +59,13 @@ public class UserServiceImpl implements UserService {
         if (userRequestDto.getEmail() != null) {
             user.setEmail(userRequestDto.getEmail());
         }
+        userCache.evict(id);
         return userMapper.toUserResponseDto(userRepository.save(user));
     }
 
     @Override
     public void remove(Long id) {
         userRepository.deleteById(id);
+        userCache.evict(id);
     }
 }
\ No newline at end of file
@@ -1,5 +1,3 @@
-DROP TABLE IF EXISTS users, items, bookings, comments, requests CASCADE;
-
 CREATE TABLE IF NOT EXISTS users (
   id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
   name VARCHAR(255) NOT NULL,
@@ -43,4 +41,4 @@ CREATE TABLE IF NOT EXISTS requests (
   requestor_id BIGINT REFERENCES users NOT NULL,
   created TIMESTAMP NOT NULL,
   CONSTRAINT pk_request PRIMARY KEY (id)
-);
\ No newline at end of file
+);
@@ -0,0 +1,6 @@
+CREATE INDEX IF NOT EXISTS ix_bookings_booker_id_start_date ON bookings (booker_id, start_date);
+CREATE INDEX IF NOT EXISTS ix_bookings_item_id_status_start_date ON bookings (item_id, status, start_date);
+CREATE INDEX IF NOT EXISTS ix_items_owner_id ON items (owner_id);
+CREATE INDEX IF NOT EXISTS ix_items_request_id ON items (request_id);
+CREATE INDEX IF NOT EXISTS ix_comments_item_id ON comments (item_id);
+CREATE INDEX IF NOT EXISTS ix_requests_requestor_id_created ON requests (requestor_id, created);
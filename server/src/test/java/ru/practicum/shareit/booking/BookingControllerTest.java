@@ -8,22 +8,35 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingExportFormat;
 import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.service.BookingExportService;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = BookingController.class)
@@ -34,12 +47,16 @@ class BookingControllerTest {
     Item item2;
     Booking booking1;
     Booking booking2;
+    BookingResponseDto bookingResponse1;
+    BookingResponseDto bookingResponse2;
     @Autowired
     private ObjectMapper objectMapper;
     @Autowired
     private MockMvc mockMvc;
     @MockBean
     private BookingService bookingService;
+    @MockBean
+    private BookingExportService bookingExportService;
 
     @BeforeEach
     void setUp() {
@@ -83,6 +100,8 @@ class BookingControllerTest {
                 .booker(user2)
                 .status(BookingStatus.APPROVED)
                 .build();
+        bookingResponse1 = BookingMapper.toBookingResponseDto(booking1);
+        bookingResponse2 = BookingMapper.toBookingResponseDto(booking2);
     }
 
     @SneakyThrows
@@ -92,7 +111,7 @@ class BookingControllerTest {
         BookingDto bookingDto = BookingMapper.toBookingDto(booking1);
         Mockito
                 .when(bookingService.addNew(Mockito.any(), Mockito.anyLong()))
-                .thenReturn(booking1);
+                .thenReturn(bookingResponse1);
 
         mockMvc.perform(post("/bookings")
                         .contentType("application/json")
@@ -103,6 +122,8 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.start", notNullValue()))
                 .andExpect(jsonPath("$.end", notNullValue()))
                 .andExpect(jsonPath("$.item.id", is(booking1.getItem().getId()), Long.class))
+                .andExpect(jsonPath("$.item.name", is(booking1.getItem().getName())))
+                .andExpect(jsonPath("$.item.owner").doesNotExist())
                 .andExpect(jsonPath("$.booker.id", is(booking1.getBooker().getId()), Long.class))
                 .andExpect(jsonPath("$.status", is(booking1.getStatus().toString())));
         Mockito.verify(bookingService, Mockito.only())
@@ -114,12 +135,13 @@ class BookingControllerTest {
     @Test
     void confirmBooking() {
         booking1.setStatus(BookingStatus.APPROVED);
+        bookingResponse1.setStatus(BookingStatus.APPROVED);
         Long bookingId = booking1.getId();
         boolean approved = true;
         Long userId = user1.getId();
         Mockito
                 .when(bookingService.confirmBooking(bookingId, approved, userId))
-                .thenReturn(booking1);
+                .thenReturn(bookingResponse1);
 
         mockMvc.perform(patch("/bookings/{bookingId}", bookingId)
                         .contentType("application/json")
@@ -144,7 +166,7 @@ class BookingControllerTest {
         Long userId = user1.getId();
         Mockito
                 .when(bookingService.getBooking(bookingId, userId))
-                .thenReturn(booking1);
+                .thenReturn(bookingResponse1);
 
         mockMvc.perform(get("/bookings/{bookingId}", bookingId)
                         .contentType("application/json")
@@ -170,7 +192,7 @@ class BookingControllerTest {
         Integer defaultSize = 20;
         Mockito
                 .when(bookingService.getAllByBookerIdAndState(userId, defaultState, defaultFrom, defaultSize))
-                .thenReturn(List.of(booking1, booking2));
+                .thenReturn(List.of(bookingResponse1, bookingResponse2));
 
         mockMvc.perform(get("/bookings")
                         .contentType("application/json")
@@ -203,7 +225,7 @@ class BookingControllerTest {
         Integer defaultSize = 20;
         Mockito
                 .when(bookingService.getAllByOwnerIdAndState(userId, defaultState, defaultFrom, defaultSize))
-                .thenReturn(List.of(booking1, booking2));
+                .thenReturn(List.of(bookingResponse1, bookingResponse2));
 
         mockMvc.perform(get("/bookings/owner")
                         .contentType("application/json")
@@ -226,4 +248,88 @@ class BookingControllerTest {
                 .getAllByOwnerIdAndState(userId, defaultState, defaultFrom, defaultSize);
         Mockito.verifyNoMoreInteractions(bookingService);
     }
-}
\ No newline at end of file
+
+    @SneakyThrows
+    @Test
+    void getAllByOwnerIdAndStateWithCursor() {
+        Long userId = user1.getId();
+        Integer size = 1;
+        Mockito
+                .when(bookingService.getSliceByOwnerIdAndState(userId, "ALL", "", size))
+                .thenReturn(new SliceImpl<>(List.of(bookingResponse2), Pageable.ofSize(size), true));
+
+        mockMvc.perform(get("/bookings/owner")
+                        .param("cursor", "")
+                        .param("size", String.valueOf(size))
+                        .header("X-Sharer-User-Id", userId))
+                .andExpect(status().isOk())
+                .andExpect(header().string(BookingController.NEXT_CURSOR_HEADER, BookingCursor.of(bookingResponse2).encode()))
+                .andExpect(jsonPath("$.length()", is(1)))
+                .andExpect(jsonPath("$[0].id", is(booking2.getId()), Long.class));
+        Mockito.verify(bookingService, Mockito.only())
+                .getSliceByOwnerIdAndState(userId, "ALL", "", size);
+    }
+
+    @SneakyThrows
+    @Test
+    void getAllByBookerIdAndStateWithCursorLastPage() {
+        Long userId = user2.getId();
+        String cursor = BookingCursor.of(bookingResponse2).encode();
+        Mockito
+                .when(bookingService.getSliceByBookerIdAndState(userId, "ALL", cursor, 20))
+                .thenReturn(new SliceImpl<>(List.of(bookingResponse1), Pageable.ofSize(20), false));
+
+        mockMvc.perform(get("/bookings")
+                        .param("cursor", cursor)
+                        .header("X-Sharer-User-Id", userId))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(BookingController.NEXT_CURSOR_HEADER))
+                .andExpect(jsonPath("$.length()", is(1)))
+                .andExpect(jsonPath("$[0].id", is(booking1.getId()), Long.class));
+    }
+
+    @SneakyThrows
+    @Test
+    void exportByOwnerIdAsCsv() {
+        StreamingResponseBody body = out -> out.write("id\n1\n".getBytes(StandardCharsets.UTF_8));
+        Mockito
+                .when(bookingExportService.exportByOwnerId(user1.getId(), BookingExportFormat.CSV))
+                .thenReturn(body);
+
+        MvcResult result = mockMvc.perform(get("/bookings/owner/export")
+                        .param("format", "csv")
+                        .header("X-Sharer-User-Id", user1.getId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"bookings.csv\""))
+                .andExpect(content().string("id\n1\n"));
+    }
+
+    @SneakyThrows
+    @Test
+    void exportByOwnerIdWithUnknownFormat() {
+        mockMvc.perform(get("/bookings/owner/export")
+                        .param("format", "xml")
+                        .header("X-Sharer-User-Id", user1.getId()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error", is("Unknown export format: xml")));
+        Mockito.verifyNoInteractions(bookingExportService);
+    }
+
+    @SneakyThrows
+    @Test
+    void exportByOwnerIdWhenUserNotFound() {
+        Mockito
+                .when(bookingExportService.exportByOwnerId(99L, BookingExportFormat.NDJSON))
+                .thenThrow(new NotFoundException("User ID = 99 not found!"));
+
+        mockMvc.perform(get("/bookings/owner/export")
+                        .header("X-Sharer-User-Id", 99L))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error", is("User ID = 99 not found!")));
+    }
+}
@@ -0,0 +1,294 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.storage.BookingRepository;
+import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.item.dto.ItemRequestDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.user.dto.UserRequestDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/*
+ * Runs against its own H2 database and commits, so other integration tests never see these rows.
+ * Throughput by thread count: mvn -pl server test -Dtest=BookingAdmissionStressTest -Dbenchmark=true
+ */
+@Slf4j
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = {"spring.datasource.url=jdbc:h2:mem:booking-stress",
+                "spring.datasource.hikari.maximum-pool-size=32",
+                "logging.level.org.hibernate.SQL=INFO",
+                "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO",
+                "logging.level.org.springframework.transaction.interceptor=INFO",
+                "logging.level.org.springframework.orm.jpa.JpaTransactionManager=INFO",
+                "logging.level.ru.practicum=INFO"})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class BookingAdmissionStressTest {
+    private static final int ITEMS = 16;
+    private static final int BOOKINGS_PER_ITEM = 8;
+    private static final int THREADS = 8;
+    private static final int INCREMENTS_PER_THREAD = 50;
+
+    private static final AtomicInteger USERS = new AtomicInteger();
+
+    private final BookingService bookingService;
+    private final UserService userService;
+    private final ItemService itemService;
+    private final BookingRepository bookingRepository;
+    private final ItemRepository itemRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Test
+    void testConcurrentApprovals_thenOneApprovalPerItem() throws InterruptedException {
+        //given
+        Workload workload = prepare(ITEMS, BOOKINGS_PER_ITEM, true);
+        //when
+        Outcome outcome = approveConcurrently(workload, THREADS);
+        //then
+        assertThat(List.copyOf(outcome.failures), equalTo(List.of()));
+        assertThat(outcome.approved.get(), equalTo(ITEMS));
+        assertThat(outcome.conflicts.get(), equalTo(ITEMS * (BOOKINGS_PER_ITEM - 1)));
+        for (Long itemId : workload.itemIds) {
+            List<Booking> approved = bookingRepository.findAllByItemIdAndStatusAndEndAfter(
+                    itemId, BookingStatus.APPROVED, LocalDateTime.now());
+            assertThat(approved.size(), equalTo(1));
+            assertThat(approved.get(0).getVersion(), equalTo(1L));
+        }
+    }
+
+    @Test
+    void testConcurrentApprovalsAndNewBookings_thenOneApprovalPerItem() throws InterruptedException {
+        //given
+        Workload workload = prepare(ITEMS, BOOKINGS_PER_ITEM, true);
+        LocalDateTime base = workload.start;
+        AtomicInteger roles = new AtomicInteger();
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger approved = new AtomicInteger();
+        AtomicInteger approversLeft = new AtomicInteger(THREADS / 2);
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        //when
+        runConcurrently(THREADS, () -> {
+            if (roles.getAndIncrement() % 2 == 0) {
+                try {
+                    for (int i = next.getAndIncrement(); i < workload.bookingIds.size(); i = next.getAndIncrement()) {
+                        try {
+                            bookingService.confirmBooking(workload.bookingIds.get(i), true, workload.ownerId);
+                            approved.incrementAndGet();
+                        } catch (ConflictException e) {
+                            // overlaps the booking approved first
+                        }
+                    }
+                } finally {
+                    approversLeft.decrementAndGet();
+                }
+                return;
+            }
+            Random random = new Random();
+            while (approversLeft.get() > 0) {
+                LocalDateTime start = base.plusMinutes(random.nextInt(BOOKINGS_PER_ITEM));
+                try {
+                    bookingService.addNew(BookingDto.builder()
+                            .itemId(workload.itemIds.get(random.nextInt(workload.itemIds.size())))
+                            .start(start)
+                            .end(start.plusMinutes(30))
+                            .build(), workload.bookerId);
+                } catch (ConflictException e) {
+                    // overlaps an approved booking
+                }
+            }
+        }, failures);
+        //then
+        assertThat(List.copyOf(failures), equalTo(List.of()));
+        assertThat(approved.get(), equalTo(ITEMS));
+        for (Long itemId : workload.itemIds) {
+            List<Booking> approvedBookings = bookingRepository.findAllByItemIdAndStatusAndEndAfter(
+                    itemId, BookingStatus.APPROVED, LocalDateTime.now());
+            assertThat(approvedBookings.size(), equalTo(1));
+        }
+    }
+
+    @Test
+    void testConcurrentItemUpdates_thenNoLostUpdates() throws InterruptedException {
+        //given
+        Long ownerId = addUser();
+        Long itemId = itemService.addNew(ItemRequestDto.builder()
+                .name("Counter")
+                .description("0")
+                .available(true)
+                .build(), ownerId).getId();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        AtomicInteger retries = new AtomicInteger();
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        //when
+        runConcurrently(THREADS, () -> {
+            for (int i = 0; i < INCREMENTS_PER_THREAD; i++) {
+                while (true) {
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> {
+                            Item item = itemRepository.findById(itemId).orElseThrow();
+                            item.setDescription(String.valueOf(Integer.parseInt(item.getDescription()) + 1));
+                        });
+                        break;
+                    } catch (OptimisticLockingFailureException e) {
+                        retries.incrementAndGet();
+                    }
+                }
+            }
+        }, failures);
+        //then
+        Item item = itemRepository.findById(itemId).orElseThrow();
+        log.info("{} increments from {} threads needed {} optimistic retries",
+                THREADS * INCREMENTS_PER_THREAD, THREADS, retries.get());
+        assertThat(List.copyOf(failures), equalTo(List.of()));
+        assertThat(item.getDescription(), equalTo(String.valueOf(THREADS * INCREMENTS_PER_THREAD)));
+        assertThat(item.getVersion(), equalTo((long) THREADS * INCREMENTS_PER_THREAD));
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void benchmarkApprovalThroughputByThreads() throws InterruptedException {
+        int cores = Runtime.getRuntime().availableProcessors();
+        List<Integer> threadCounts = new ArrayList<>();
+        for (int threads = 1; threads <= Math.max(2 * cores, 4); threads *= 2) {
+            threadCounts.add(threads);
+        }
+        approveConcurrently(prepare(64, 4, false), cores);
+        for (int threads : threadCounts) {
+            Outcome spread = approveConcurrently(prepare(512, 4, false), threads);
+            Outcome hot = approveConcurrently(prepare(1, 512, false), threads);
+            assertThat(List.copyOf(spread.failures), equalTo(List.of()));
+            assertThat(List.copyOf(hot.failures), equalTo(List.of()));
+            log.info("{} cores, {} threads: distinct items {} approvals/s, single item {} approvals/s",
+                    cores, threads, spread.perSecond(), hot.perSecond());
+        }
+    }
+
+    private Workload prepare(int items, int bookingsPerItem, boolean overlapping) {
+        Long ownerId = addUser();
+        Long bookerId = addUser();
+        LocalDateTime base = LocalDateTime.now().plusDays(1);
+        Workload workload = new Workload(ownerId, bookerId, base);
+        for (int i = 0; i < items; i++) {
+            Long itemId = itemService.addNew(ItemRequestDto.builder()
+                    .name("Item " + i)
+                    .description("Stress item " + i)
+                    .available(true)
+                    .build(), ownerId).getId();
+            workload.itemIds.add(itemId);
+            for (int j = 0; j < bookingsPerItem; j++) {
+                LocalDateTime start = overlapping ? base.plusMinutes(j) : base.plusHours(j);
+                workload.bookingIds.add(bookingService.addNew(BookingDto.builder()
+                        .itemId(itemId)
+                        .start(start)
+                        .end(start.plusMinutes(30))
+                        .build(), bookerId).getId());
+            }
+        }
+        Collections.shuffle(workload.bookingIds, new Random(42));
+        return workload;
+    }
+
+    private Long addUser() {
+        int n = USERS.incrementAndGet();
+        return userService.addNew(UserRequestDto.builder()
+                .name("Stress user " + n)
+                .email("stress" + n + "@email.com")
+                .build()).getId();
+    }
+
+    private Outcome approveConcurrently(Workload workload, int threads) throws InterruptedException {
+        Outcome outcome = new Outcome();
+        AtomicInteger next = new AtomicInteger();
+        long started = System.nanoTime();
+        runConcurrently(threads, () -> {
+            for (int i = next.getAndIncrement(); i < workload.bookingIds.size(); i = next.getAndIncrement()) {
+                try {
+                    bookingService.confirmBooking(workload.bookingIds.get(i), true, workload.ownerId);
+                    outcome.approved.incrementAndGet();
+                } catch (ConflictException e) {
+                    outcome.conflicts.incrementAndGet();
+                }
+            }
+        }, outcome.failures);
+        outcome.elapsedNanos.set(System.nanoTime() - started);
+        outcome.operations = workload.bookingIds.size();
+        return outcome;
+    }
+
+    private static void runConcurrently(int threads, Runnable task, Queue<Throwable> failures)
+            throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int i = 0; i < threads; i++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    task.run();
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        if (!executor.awaitTermination(5, TimeUnit.MINUTES)) {
+            executor.shutdownNow();
+            failures.add(new IllegalStateException("Stress workers did not finish in time"));
+        }
+    }
+
+    private static final class Workload {
+        private final Long ownerId;
+        private final Long bookerId;
+        private final LocalDateTime start;
+        private final List<Long> itemIds = new ArrayList<>();
+        private final List<Long> bookingIds = new ArrayList<>();
+
+        private Workload(Long ownerId, Long bookerId, LocalDateTime start) {
+            this.ownerId = ownerId;
+            this.bookerId = bookerId;
+            this.start = start;
+        }
+    }
+
+    private static final class Outcome {
+        private final AtomicInteger approved = new AtomicInteger();
+        private final AtomicInteger conflicts = new AtomicInteger();
+        private final AtomicLong elapsedNanos = new AtomicLong();
+        private final Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        private int operations;
+
+        private long perSecond() {
+            return operations * TimeUnit.SECONDS.toNanos(1) / elapsedNanos.get();
+        }
+    }
+}
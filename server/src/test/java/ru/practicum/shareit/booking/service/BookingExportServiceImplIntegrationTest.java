@@ -0,0 +1,139 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingExportFormat;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.dto.ItemRequestDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserRequestDto;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserService;
+
+import javax.persistence.EntityManager;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Transactional
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class BookingExportServiceImplIntegrationTest {
+    private final EntityManager entityManager;
+    private final BookingExportService bookingExportService;
+    private final UserService userService;
+    private final ItemService itemService;
+
+    private final LocalDateTime start = LocalDateTime.of(2030, 1, 1, 10, 0);
+    private Long ownerId;
+    private Long bookerId;
+    private List<Long> bookingIds;
+
+    @BeforeEach
+    void beforeEach() {
+        ownerId = userService.addNew(UserRequestDto.builder()
+                .name("Owner name")
+                .email("owner@email.com")
+                .build()).getId();
+        bookerId = userService.addNew(UserRequestDto.builder()
+                .name("Booker name")
+                .email("booker@email.com")
+                .build()).getId();
+        Long drillId = addItem("Drill");
+        Long sawId = addItem("Saw, \"large\"");
+        bookingIds = List.of(
+                addBooking(drillId, start, BookingStatus.APPROVED),
+                addBooking(sawId, start.plusDays(1), BookingStatus.WAITING),
+                addBooking(drillId, start.plusDays(2), BookingStatus.REJECTED));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void testExportByOwnerIdAsNdjson() throws Exception {
+        //given
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+        //when
+        String[] lines = export(BookingExportFormat.NDJSON).split("\n");
+        long statements = statistics.getPrepareStatementCount();
+        //then
+        assertThat(lines.length, equalTo(3));
+        assertThat(lines[0], equalTo(String.format("{\"id\":%d,\"start\":\"2030-01-03T10:00:00\","
+                        + "\"end\":\"2030-01-03T11:00:00\",\"status\":\"REJECTED\","
+                        + "\"item\":{\"id\":%d,\"name\":\"Drill\"},\"booker\":{\"id\":%d}}",
+                bookingIds.get(2), itemId(bookingIds.get(2)), bookerId)));
+        assertThat(statements, equalTo(1L));
+    }
+
+    @Test
+    void testExportByOwnerIdAsCsv() throws Exception {
+        //given
+        //when
+        String csv = export(BookingExportFormat.CSV);
+        //then
+        assertThat(csv, equalTo("id,start,end,status,item_id,item_name,booker_id\n"
+                + String.format("%d,2030-01-03T10:00:00,2030-01-03T11:00:00,REJECTED,%d,Drill,%d\n",
+                bookingIds.get(2), itemId(bookingIds.get(2)), bookerId)
+                + String.format("%d,2030-01-02T10:00:00,2030-01-02T11:00:00,WAITING,%d,\"Saw, \"\"large\"\"\",%d\n",
+                bookingIds.get(1), itemId(bookingIds.get(1)), bookerId)
+                + String.format("%d,2030-01-01T10:00:00,2030-01-01T11:00:00,APPROVED,%d,Drill,%d\n",
+                bookingIds.get(0), itemId(bookingIds.get(0)), bookerId)));
+    }
+
+    @Test
+    void testExportByOwnerId_whenUserNotFound_thenNotFound() {
+        //given
+        //when
+        //then
+        assertThrows(NotFoundException.class,
+                () -> bookingExportService.exportByOwnerId(999L, BookingExportFormat.CSV));
+    }
+
+    private String export(BookingExportFormat format) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        bookingExportService.exportByOwnerId(ownerId, format).writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private Long addItem(String name) {
+        return itemService.addNew(ItemRequestDto.builder()
+                .name(name)
+                .description(name + " description")
+                .available(true)
+                .build(), ownerId).getId();
+    }
+
+    private Long addBooking(Long itemId, LocalDateTime bookingStart, BookingStatus status) {
+        Booking booking = Booking.builder()
+                .item(entityManager.getReference(Item.class, itemId))
+                .booker(entityManager.getReference(User.class, bookerId))
+                .start(bookingStart)
+                .end(bookingStart.plusHours(1))
+                .status(status)
+                .build();
+        entityManager.persist(booking);
+        return booking.getId();
+    }
+
+    private Long itemId(Long bookingId) {
+        return entityManager.find(Booking.class, bookingId).getItem().getId();
+    }
+}
@@ -0,0 +1,93 @@
+package ru.practicum.shareit.booking.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.storage.BookingRepository;
+import ru.practicum.shareit.cache.LocalCacheProperties;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+@ExtendWith(MockitoExtension.class)
+public class BookingIntervalIndexTest {
+    private final LocalDateTime base = LocalDateTime.now().plusDays(1).withNano(0);
+    @Mock
+    private BookingRepository bookingRepository;
+    private BookingIntervalIndex index;
+
+    @BeforeEach
+    void beforeEach() {
+        index = new BookingIntervalIndex(bookingRepository, new LocalCacheProperties(), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void testOverlapsUsesHalfOpenIntervals() {
+        //given
+        approved(booking(10, 20), booking(30, 40));
+        //when
+        //then
+        assertThat(index.overlaps(1L, at(0), at(10)), equalTo(false));
+        assertThat(index.overlaps(1L, at(20), at(30)), equalTo(false));
+        assertThat(index.overlaps(1L, at(40), at(50)), equalTo(false));
+        assertThat(index.overlaps(1L, at(19), at(21)), equalTo(true));
+        assertThat(index.overlaps(1L, at(25), at(35)), equalTo(true));
+        assertThat(index.overlaps(1L, at(0), at(50)), equalTo(true));
+        assertThat(index.overlaps(1L, at(32), at(33)), equalTo(true));
+        Mockito.verify(bookingRepository, Mockito.times(1))
+                .findAllByItemIdAndStatusAndEndAfter(Mockito.eq(1L), Mockito.eq(BookingStatus.APPROVED),
+                        Mockito.any());
+    }
+
+    @Test
+    void testOverlapsFindsLongBookingCoveringShortOnes() {
+        //given
+        approved(booking(0, 100), booking(10, 20), booking(90, 95));
+        //when
+        //then
+        assertThat(index.overlaps(1L, at(50), at(60)), equalTo(true));
+        assertThat(index.overlaps(1L, at(96), at(99)), equalTo(true));
+        assertThat(index.overlaps(1L, at(100), at(110)), equalTo(false));
+    }
+
+    @Test
+    void testEvictItemReloadsIntervals() {
+        //given
+        approved();
+        index.overlaps(1L, at(0), at(10));
+        approved(booking(0, 10));
+        //when
+        index.evictItem(1L);
+        boolean actual = index.overlaps(1L, at(5), at(6));
+        //then
+        assertThat(actual, equalTo(true));
+    }
+
+    private void approved(Booking... bookings) {
+        Mockito
+                .when(bookingRepository.findAllByItemIdAndStatusAndEndAfter(Mockito.eq(1L),
+                        Mockito.eq(BookingStatus.APPROVED), Mockito.any()))
+                .thenReturn(List.of(bookings));
+    }
+
+    private Booking booking(int startHour, int endHour) {
+        return Booking.builder()
+                .start(at(startHour))
+                .end(at(endHour))
+                .status(BookingStatus.APPROVED)
+                .build();
+    }
+
+    private LocalDateTime at(int hour) {
+        return base.plusHours(hour);
+    }
+}
@@ -1,32 +1,42 @@
 package ru.practicum.shareit.booking.service;
 
 import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.item.dto.ItemRequestDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.dto.UserRequestDto;
 import ru.practicum.shareit.user.dto.UserResponseDto;
+import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Supplier;
 
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @Transactional
-@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 public class BookingServiceImplIntegrationTest {
     private final EntityManager entityManager;
@@ -80,4 +90,138 @@ public class BookingServiceImplIntegrationTest {
         assertThat(actualBookings.get(0).getBooker().getId(), equalTo(bookerId));
         assertThat(actualBookings.get(0).getStatus(), equalTo(BookingStatus.WAITING));
     }
+
+    @Test
+    void testAddNew_whenOverlapsApprovedBooking_thenConflict() {
+        //given
+        UserResponseDto owner = userService.addNew(UserRequestDto.builder()
+                .name("Owner name")
+                .email("owner@email.com")
+                .build());
+        UserResponseDto booker = userService.addNew(UserRequestDto.builder()
+                .name("Booker name")
+                .email("booker@email.com")
+                .build());
+        ItemResponseDto itemDto = itemService.addNew(
+                ItemRequestDto.builder()
+                        .name("Item name")
+                        .description("Item description")
+                        .available(true)
+                        .build(),
+                owner.getId());
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        BookingResponseDto first = bookingService.addNew(BookingDto.builder()
+                .itemId(itemDto.getId())
+                .start(start)
+                .end(start.plusHours(4))
+                .build(), booker.getId());
+        BookingResponseDto waiting = bookingService.addNew(BookingDto.builder()
+                .itemId(itemDto.getId())
+                .start(start.plusHours(2))
+                .end(start.plusHours(6))
+                .build(), booker.getId());
+        //when
+        bookingService.confirmBooking(first.getId(), true, owner.getId());
+        //then
+        assertThrows(ConflictException.class, () -> bookingService.addNew(BookingDto.builder()
+                .itemId(itemDto.getId())
+                .start(start.plusHours(3))
+                .end(start.plusHours(5))
+                .build(), booker.getId()));
+        assertThrows(ConflictException.class,
+                () -> bookingService.confirmBooking(waiting.getId(), true, owner.getId()));
+        BookingResponseDto adjacent = bookingService.addNew(BookingDto.builder()
+                .itemId(itemDto.getId())
+                .start(start.plusHours(4))
+                .end(start.plusHours(5))
+                .build(), booker.getId());
+        assertThat(bookingService.confirmBooking(adjacent.getId(), true, owner.getId()).getStatus(),
+                equalTo(BookingStatus.APPROVED));
+    }
+
+    @Test
+    void testGetAllByOwnerIdAndStateStatementCountDoesNotDependOnPageSize() {
+        //given
+        User owner = persistUser("owner@email.com");
+        persistBookedItems(owner, 30);
+        //when
+        long smallPageStatements = countStatements(() ->
+                bookingService.getAllByOwnerIdAndState(owner.getId(), "ALL", 0, 5));
+        long largePageStatements = countStatements(() ->
+                bookingService.getAllByOwnerIdAndState(owner.getId(), "ALL", 0, 25));
+        long smallSliceStatements = countStatements(() ->
+                bookingService.getSliceByOwnerIdAndState(owner.getId(), "ALL", null, 5).getContent());
+        long largeSliceStatements = countStatements(() ->
+                bookingService.getSliceByOwnerIdAndState(owner.getId(), "ALL", null, 25).getContent());
+        //then
+        assertThat(largePageStatements, equalTo(smallPageStatements));
+        assertThat(largeSliceStatements, equalTo(smallSliceStatements));
+    }
+
+    @Test
+    void testGetAllByBookerIdAndStateStatementCountDoesNotDependOnPageSize() {
+        //given
+        User owner = persistUser("owner@email.com");
+        User booker = persistBookedItems(owner, 30);
+        //when
+        long smallPageStatements = countStatements(() ->
+                bookingService.getAllByBookerIdAndState(booker.getId(), "ALL", 0, 5));
+        long largePageStatements = countStatements(() ->
+                bookingService.getAllByBookerIdAndState(booker.getId(), "ALL", 0, 25));
+        //then
+        assertThat(largePageStatements, equalTo(smallPageStatements));
+    }
+
+    private long countStatements(Supplier<List<BookingResponseDto>> page) {
+        entityManager.flush();
+        page.get();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+        for (BookingResponseDto booking : page.get()) {
+            assertThat(booking.getBooker().getId(), notNullValue());
+            assertThat(booking.getItem().getName(), notNullValue());
+        }
+        return statistics.getPrepareStatementCount();
+    }
+
+    private User persistUser(String email) {
+        User user = User.builder()
+                .name(email)
+                .email(email)
+                .build();
+        entityManager.persist(user);
+        return user;
+    }
+
+    private User persistBookedItems(User owner, int count) {
+        LocalDateTime now = LocalDateTime.now();
+        User booker = persistUser("booker@email.com");
+        for (int i = 0; i < count; i++) {
+            ItemRequest request = ItemRequest.builder()
+                    .description("Request " + i)
+                    .requester(persistUser("requester" + i + "@email.com"))
+                    .created(now)
+                    .build();
+            entityManager.persist(request);
+            Item item = Item.builder()
+                    .name("Item " + i)
+                    .description("Item " + i + " description")
+                    .available(true)
+                    .owner(owner)
+                    .request(request)
+                    .build();
+            entityManager.persist(item);
+            entityManager.persist(Booking.builder()
+                    .item(item)
+                    .booker(booker)
+                    .start(now.plusDays(i))
+                    .end(now.plusDays(i).plusHours(1))
+                    .status(BookingStatus.APPROVED)
+                    .build());
+        }
+        return booker;
+    }
 }
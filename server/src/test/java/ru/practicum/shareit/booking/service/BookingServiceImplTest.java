@@ -7,20 +7,30 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.storage.BookingRepository;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemCache;
 import ru.practicum.shareit.item.storage.ItemRepository;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserCache;
 import ru.practicum.shareit.user.storage.UserRepository;
 
 import javax.validation.ValidationException;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.hamcrest.CoreMatchers.equalTo;
@@ -38,6 +48,14 @@ public class BookingServiceImplTest {
     private UserRepository userRepository;
     @Mock
     private ItemRepository itemRepository;
+    @Mock
+    private UserCache userCache;
+    @Mock
+    private ItemCache itemCache;
+    @Mock
+    private BookingIntervalIndex bookingIntervalIndex;
+    @Mock
+    private ItemLocks itemLocks;
     private User user1;
     private User user2;
     private Item item1;
@@ -45,7 +63,8 @@ public class BookingServiceImplTest {
 
     @BeforeEach
     void beforeEach() {
-        bookingService = new BookingServiceImpl(bookingRepository, userRepository, itemRepository);
+        bookingService = new BookingServiceImpl(bookingRepository, userRepository, itemRepository, userCache, itemCache,
+                bookingIntervalIndex, itemLocks);
         user1 = User.builder()
                 .id(1L)
                 .name("User 1 name")
@@ -87,8 +106,11 @@ public class BookingServiceImplTest {
                 .when(itemRepository.findById(user1.getId()))
                 .thenReturn(Optional.of(item1));
         Mockito
-                .when(userRepository.findById(user2Id))
-                .thenReturn(Optional.of(user2));
+                .when(userCache.exists(user2Id))
+                .thenReturn(true);
+        Mockito
+                .when(userRepository.getReferenceById(user2Id))
+                .thenReturn(user2);
         Mockito
                 .when(bookingRepository.save(Mockito.any(Booking.class)))
                 .thenAnswer(invocationOnMock -> {
@@ -98,24 +120,76 @@ public class BookingServiceImplTest {
                 });
 
         //when
-        Booking actualBooking = bookingService.addNew(bookingDto, user2Id);
+        BookingResponseDto actualBooking = bookingService.addNew(bookingDto, user2Id);
 
         //then
         assertThat(actualBooking.getId(), notNullValue());
         assertThat(actualBooking.getStart(), equalTo(start));
         assertThat(actualBooking.getEnd(), equalTo(end));
-        assertThat(actualBooking.getItem(), equalTo(item1));
-        assertThat(actualBooking.getBooker(), equalTo(user2));
+        assertThat(actualBooking.getItem().getId(), equalTo(item1.getId()));
+        assertThat(actualBooking.getItem().getName(), equalTo(item1.getName()));
+        assertThat(actualBooking.getBooker().getId(), equalTo(user2.getId()));
         assertThat(actualBooking.getStatus(), equalTo(BookingStatus.WAITING));
         Mockito.verify(itemRepository, Mockito.times(1))
                 .findById(item1.getId());
+        Mockito.verify(userCache, Mockito.times(1))
+                .exists(user2Id);
         Mockito.verify(userRepository, Mockito.times(1))
-                .findById(user2Id);
+                .getReferenceById(user2Id);
         Mockito.verify(bookingRepository, Mockito.times(1))
                 .save(Mockito.any(Booking.class));
         Mockito.verifyNoMoreInteractions(itemRepository, userRepository, bookingRepository);
     }
 
+    @Test
+    void testAddNew_whenOverlapsApprovedBooking_thenConflict() {
+        //given
+        BookingDto bookingDto = BookingDto.builder()
+                .itemId(item1.getId())
+                .start(start)
+                .end(end)
+                .build();
+        Long user2Id = user2.getId();
+        Mockito
+                .when(itemRepository.findById(item1.getId()))
+                .thenReturn(Optional.of(item1));
+        Mockito
+                .when(userCache.exists(user2Id))
+                .thenReturn(true);
+        Mockito
+                .when(bookingIntervalIndex.overlaps(item1.getId(), start, end))
+                .thenReturn(true);
+        //when
+        ConflictException e = Assertions.assertThrows(ConflictException.class,
+                () -> bookingService.addNew(bookingDto, user2Id));
+        //then
+        assertThat(e.getMessage(), equalTo(String.format(
+                "Item ID = %d already has an approved booking overlapping %s - %s!", item1.getId(), start, end)));
+        Mockito.verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void testAddNew_whenBookerUnknown_thenNotFoundBeforeOverlapCheck() {
+        //given
+        BookingDto bookingDto = BookingDto.builder()
+                .itemId(item1.getId())
+                .start(start)
+                .end(end)
+                .build();
+        Mockito
+                .when(itemRepository.findById(item1.getId()))
+                .thenReturn(Optional.of(item1));
+        Mockito
+                .when(userCache.exists(99L))
+                .thenReturn(false);
+        //when
+        NotFoundException e = Assertions.assertThrows(NotFoundException.class,
+                () -> bookingService.addNew(bookingDto, 99L));
+        //then
+        assertThat(e.getMessage(), equalTo("User ID = 99 not found!"));
+        Mockito.verifyNoInteractions(bookingIntervalIndex, bookingRepository);
+    }
+
     @Test
     void testAddNewWrongItemId() {
         //given
@@ -195,7 +269,7 @@ public class BookingServiceImplTest {
                 .when(bookingRepository.save(Mockito.any(Booking.class)))
                 .thenAnswer(invocationOnMock -> invocationOnMock.getArgument(0, Booking.class));
         //when
-        Booking actualBooking = bookingService.confirmBooking(bookingId, approved, itemOwnerId);
+        BookingResponseDto actualBooking = bookingService.confirmBooking(bookingId, approved, itemOwnerId);
         //then
         assertThat(actualBooking.getId(), equalTo(bookingId));
         assertThat(actualBooking.getStatus(), equalTo(BookingStatus.APPROVED));
@@ -203,7 +277,59 @@ public class BookingServiceImplTest {
                 .findById(bookingId);
         Mockito.verify(bookingRepository, Mockito.times(1))
                 .save(booking1);
-        Mockito.verifyNoMoreInteractions(bookingRepository);
+        Mockito.verify(bookingRepository, Mockito.times(1))
+                .flush();
+        Mockito.verify(itemLocks, Mockito.times(1))
+                .lockUntilCompletion(item1.getId());
+        Mockito.verify(bookingIntervalIndex, Mockito.times(1))
+                .overlaps(item1.getId(), start, end);
+        Mockito.verify(bookingIntervalIndex, Mockito.times(1))
+                .evictItem(item1.getId());
+        Mockito.verify(itemCache, Mockito.times(1))
+                .evictNearestBookings(booking1.getItem().getId());
+        Mockito.verifyNoMoreInteractions(bookingRepository, itemCache, bookingIntervalIndex, itemLocks);
+    }
+
+    @Test
+    void testConfirmBooking_whenOverlapsApprovedBooking_thenConflict() {
+        //given
+        Long bookingId = booking1.getId();
+        Long itemOwnerId = booking1.getItem().getOwner().getId();
+        Mockito
+                .when(bookingRepository.findById(bookingId))
+                .thenReturn(Optional.of(booking1));
+        Mockito
+                .when(bookingIntervalIndex.overlaps(item1.getId(), start, end))
+                .thenReturn(true);
+        //when
+        //then
+        Assertions.assertThrows(ConflictException.class,
+                () -> bookingService.confirmBooking(bookingId, true, itemOwnerId));
+        assertThat(booking1.getStatus(), equalTo(BookingStatus.WAITING));
+        Mockito.verify(bookingRepository, Mockito.never())
+                .save(Mockito.any());
+        Mockito.verifyNoInteractions(itemCache);
+    }
+
+    @Test
+    void testConfirmBooking_whenExclusionConstraintViolated_thenConflict() {
+        //given
+        Long bookingId = booking1.getId();
+        Long itemOwnerId = booking1.getItem().getOwner().getId();
+        Mockito
+                .when(bookingRepository.findById(bookingId))
+                .thenReturn(Optional.of(booking1));
+        Mockito
+                .when(bookingRepository.save(Mockito.any(Booking.class)))
+                .thenAnswer(invocationOnMock -> invocationOnMock.getArgument(0, Booking.class));
+        Mockito
+                .doThrow(new DataIntegrityViolationException("ex_bookings_item_approved_period"))
+                .when(bookingRepository).flush();
+        //when
+        //then
+        Assertions.assertThrows(ConflictException.class,
+                () -> bookingService.confirmBooking(bookingId, true, itemOwnerId));
+        Mockito.verifyNoInteractions(itemCache);
     }
 
     @Test
@@ -219,7 +345,7 @@ public class BookingServiceImplTest {
                 .when(bookingRepository.save(Mockito.any(Booking.class)))
                 .thenAnswer(invocationOnMock -> invocationOnMock.getArgument(0, Booking.class));
         //when
-        Booking actualBooking = bookingService.confirmBooking(bookingId, approved, itemOwnerId);
+        BookingResponseDto actualBooking = bookingService.confirmBooking(bookingId, approved, itemOwnerId);
         //then
         assertThat(actualBooking.getId(), equalTo(bookingId));
         assertThat(actualBooking.getStatus(), equalTo(BookingStatus.REJECTED));
@@ -227,6 +353,7 @@ public class BookingServiceImplTest {
                 .findById(bookingId);
         Mockito.verify(bookingRepository, Mockito.times(1))
                 .save(booking1);
+        Mockito.verifyNoInteractions(itemCache);
         Mockito.verifyNoMoreInteractions(bookingRepository);
     }
 
@@ -280,7 +407,7 @@ public class BookingServiceImplTest {
                 .when(bookingRepository.findById(bookingId))
                 .thenReturn(Optional.of(booking1));
         //when
-        Booking actualBooking = bookingService.getBooking(bookingId, requesterId);
+        BookingResponseDto actualBooking = bookingService.getBooking(bookingId, requesterId);
         //then
         assertThat(actualBooking.getId(), equalTo(bookingId));
         Mockito.verify(bookingRepository, Mockito.times(1))
@@ -312,19 +439,19 @@ public class BookingServiceImplTest {
         Integer defaultFromElement = 0;
         Integer defaultSize = 20;
         Mockito
-                .when(userRepository.existsById(bookerId))
+                .when(userCache.exists(bookerId))
                 .thenReturn(true);
         Mockito
                 .when(bookingRepository.findAllByBookerIdOrderByStartDesc(Mockito.anyLong(), Mockito.any(Pageable.class)))
-                .thenReturn(Page.empty());
+                .thenReturn(new SliceImpl<>(List.of()));
         //when
         bookingService.getAllByBookerIdAndState(bookerId, defaultState, defaultFromElement, defaultSize);
         //then
-        Mockito.verify(userRepository, Mockito.times(1))
-                .existsById(bookerId);
+        Mockito.verify(userCache, Mockito.times(1))
+                .exists(bookerId);
         Mockito.verify(bookingRepository, Mockito.times(1))
                 .findAllByBookerIdOrderByStartDesc(Mockito.anyLong(), Mockito.any(Pageable.class));
-        Mockito.verifyNoMoreInteractions(userRepository, bookingRepository);
+        Mockito.verifyNoMoreInteractions(userCache, userRepository, bookingRepository);
     }
 
     @Test
@@ -335,19 +462,19 @@ public class BookingServiceImplTest {
         Integer defaultFromElement = 0;
         Integer defaultSize = 20;
         Mockito
-                .when(userRepository.existsById(bookerId))
+                .when(userCache.exists(bookerId))
                 .thenReturn(true);
         Mockito
                 .when(bookingRepository.findAllByBookerIdOrderByStartDesc(Mockito.anyLong(), Mockito.any(Pageable.class)))
-                .thenReturn(Page.empty());
+                .thenReturn(new SliceImpl<>(List.of()));
         //when
         bookingService.getAllByBookerIdAndState(bookerId, state, defaultFromElement, defaultSize);
         //then
-        Mockito.verify(userRepository, Mockito.times(1))
-                .existsById(bookerId);
+        Mockito.verify(userCache, Mockito.times(1))
+                .exists(bookerId);
         Mockito.verify(bookingRepository, Mockito.times(1))
                 .findAllByBookerIdOrderByStartDesc(Mockito.anyLong(), Mockito.any(Pageable.class));
-        Mockito.verifyNoMoreInteractions(userRepository, bookingRepository);
+        Mockito.verifyNoMoreInteractions(userCache, userRepository, bookingRepository);
     }
 
     @Test
@@ -358,21 +485,21 @@ public class BookingServiceImplTest {
         Integer defaultFromElement = 0;
         Integer defaultSize = 20;
         Mockito
-                .when(userRepository.existsById(bookerId))
+                .when(userCache.exists(bookerId))
                 .thenReturn(true);
         Mockito
                 .when(bookingRepository.findAllByBookerIdAndEndBeforeOrderByStartDesc(
                         Mockito.anyLong(), Mockito.any(LocalDateTime.class), Mockito.any(Pageable.class)))
-                .thenReturn(Page.empty());
+                .thenReturn(new SliceImpl<>(List.of()));
         //when
         bookingService.getAllByBookerIdAndState(bookerId, state, defaultFromElement, defaultSize);
         //then
-        Mockito.verify(userRepository, Mockito.times(1))
-                .existsById(bookerId);
+        Mockito.verify(userCache, Mockito.times(1))
+                .exists(bookerId);
         Mockito.verify(bookingRepository, Mockito.times(1))
                 .findAllByBookerIdAndEndBeforeOrderByStartDesc(
                         Mockito.anyLong(), Mockito.any(LocalDateTime.class), Mockito.any(Pageable.class));
-        Mockito.verifyNoMoreInteractions(userRepository, bookingRepository);
+        Mockito.verifyNoMoreInteractions(userCache, userRepository, bookingRepository);
     }
 
     @Test
@@ -383,7 +510,7 @@ public class BookingServiceImplTest {
         Integer defaultFromElement = 0;
         Integer defaultSize = 20;
         Mockito
-                .when(userRepository.existsById(bookerId))
+                .when(userCache.exists(bookerId))
                 .thenReturn(true);
         Mockito
                 .when(bookingRepository.findAllByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(
@@ -391,19 +518,19 @@ public class BookingServiceImplTest {
                         Mockito.any(LocalDateTime.class),
                         Mockito.any(LocalDateTime.class),
                         Mockito.any(Pageable.class)))
-                .thenReturn(Page.empty());
+                .thenReturn(new SliceImpl<>(List.of()));
         //when
         bookingService.getAllByBookerIdAndState(bookerId, state, defaultFromElement, defaultSize);
         //then
-        Mockito.verify(userRepository, Mockito.times(1))
-                .existsById(bookerId);
+        Mockito.verify(userCache, Mockito.times(1))
+                .exists(bookerId);
         Mockito.verify(bookingRepository, Mockito.times(1))
                 .findAllByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(
                         Mockito.anyLong(),
                         Mockito.any(LocalDateTime.class),
                         Mockito.any(LocalDateTime.class),
                         Mockito.any(Pageable.class));
-        Mockito.verifyNoMoreInteractions(userRepository, bookingRepository);
+        Mockito.verifyNoMoreInteractions(userCache, userRepository, bookingRepository);
     }
 
     @Test
@@ -414,21 +541,21 @@ public class BookingServiceImplTest {
         Integer defaultFromElement = 0;
         Integer defaultSize = 20;
         Mockito
-                .when(userRepository.existsById(bookerId))
+                .when(userCache.exists(bookerId))
                 .thenReturn(true);
         Mockito
                 .when(bookingRepository.findAllByBookerIdAndStartAfterOrderByStartDesc(
                         Mockito.anyLong(), Mockito.any(LocalDateTime.class), Mockito.any(Pageable.class)))
-                .thenReturn(Page.empty());
+                .thenReturn(new SliceImpl<>(List.of()));
         //when
         bookingService.getAllByBookerIdAndState(bookerId, state, defaultFromElement, defaultSize);
         //then
-        Mockito.verify(userRepository, Mockito.times(1))
-                .existsById(bookerId);
+        Mockito.verify(userCache, Mockito.times(1))
+                .exists(bookerId);
         Mockito.verify(bookingRepository, Mockito.times(1))
                 .findAllByBookerIdAndStartAfterOrderByStartDesc(
                         Mockito.anyLong(), Mockito.any(LocalDateTime.class), Mockito.any(Pageable.class));
-        Mockito.verifyNoMoreInteractions(userRepository, bookingRepository);
+        Mockito.verifyNoMoreInteractions(userCache, userRepository, bookingRepository);
     }
 
     @Test
@@ -439,21 +566,21 @@ public class BookingServiceImplTest {
         Integer defaultFromElement = 0;
         Integer defaultSize = 20;
         Mockito
-                .when(userRepository.existsById(bookerId))
+                .when(userCache.exists(bookerId))
                 .thenReturn(true);
         Mockito
                 .when(bookingRepository.findAllByBookerIdAndStatusOrderByStartDesc(
                         Mockito.anyLong(), Mockito.any(BookingStatus.class), Mockito.any(Pageable.class)))
-                .thenReturn(Page.empty());
+                .thenReturn(new SliceImpl<>(List.of()));
         //when
         bookingService.getAllByBookerIdAndState(bookerId, state, defaultFromElement, defaultSize);
         //then
-        Mockito.verify(userRepository, Mockito.times(1))
-                .existsById(bookerId);
+        Mockito.verify(userCache, Mockito.times(1))
+                .exists(bookerId);
         Mockito.verify(bookingRepository, Mockito.times(1))
                 .findAllByBookerIdAndStatusOrderByStartDesc(
                         Mockito.anyLong(), Mockito.any(BookingStatus.class), Mockito.any(Pageable.class));
-        Mockito.verifyNoMoreInteractions(userRepository, bookingRepository);
+        Mockito.verifyNoMoreInteractions(userCache, userRepository, bookingRepository);
     }
 
     @Test
@@ -464,7 +591,7 @@ public class BookingServiceImplTest {
         Integer defaultFromElement = 0;
         Integer defaultSize = 20;
         Mockito
-                .when(userRepository.existsById(bookerId))
+                .when(userCache.exists(bookerId))
                 .thenReturn(true);
         //when
         //then
@@ -481,7 +608,7 @@ public class BookingServiceImplTest {
         Integer defaultFromElement = 0;
         Integer defaultSize = 20;
         Mockito
-                .when(userRepository.existsById(Mockito.anyLong()))
+                .when(userCache.exists(Mockito.anyLong()))
                 .thenReturn(false);
         //when
         //then
@@ -498,19 +625,19 @@ public class BookingServiceImplTest {
         Integer defaultFromElement = 0;
         Integer defaultSize = 20;
         Mockito
-                .when(userRepository.existsById(ownerId))
+                .when(userCache.exists(ownerId))
                 .thenReturn(true);
         Mockito
                 .when(bookingRepository.findAllByItemOwnerIdOrderByStartDesc(Mockito.anyLong(), Mockito.any(Pageable.class)))
-                .thenReturn(Page.empty());
+                .thenReturn(new SliceImpl<>(List.of()));
         //when
         bookingService.getAllByOwnerIdAndState(ownerId, defaultState, defaultFromElement, defaultSize);
         //then
-        Mockito.verify(userRepository, Mockito.times(1))
-                .existsById(ownerId);
+        Mockito.verify(userCache, Mockito.times(1))
+                .exists(ownerId);
         Mockito.verify(bookingRepository, Mockito.times(1))
                 .findAllByItemOwnerIdOrderByStartDesc(Mockito.anyLong(), Mockito.any(Pageable.class));
-        Mockito.verifyNoMoreInteractions(userRepository, bookingRepository);
+        Mockito.verifyNoMoreInteractions(userCache, userRepository, bookingRepository);
     }
 
     @Test
@@ -521,21 +648,21 @@ public class BookingServiceImplTest {
         Integer defaultFromElement = 0;
         Integer defaultSize = 20;
         Mockito
-                .when(userRepository.existsById(ownerId))
+                .when(userCache.exists(ownerId))
                 .thenReturn(true);
         Mockito
                 .when(bookingRepository.findAllByItemOwnerIdAndEndBeforeOrderByStartDesc(
                         Mockito.anyLong(), Mockito.any(), Mockito.any(Pageable.class)))
-                .thenReturn(Page.empty());
+                .thenReturn(new SliceImpl<>(List.of()));
         //when
         bookingService.getAllByOwnerIdAndState(ownerId, defaultState, defaultFromElement, defaultSize);
         //then
-        Mockito.verify(userRepository, Mockito.times(1))
-                .existsById(ownerId);
+        Mockito.verify(userCache, Mockito.times(1))
+                .exists(ownerId);
         Mockito.verify(bookingRepository, Mockito.times(1))
                 .findAllByItemOwnerIdAndEndBeforeOrderByStartDesc(
                         Mockito.anyLong(), Mockito.any(), Mockito.any(Pageable.class));
-        Mockito.verifyNoMoreInteractions(userRepository, bookingRepository);
+        Mockito.verifyNoMoreInteractions(userCache, userRepository, bookingRepository);
     }
 
     @Test
@@ -546,21 +673,21 @@ public class BookingServiceImplTest {
         Integer defaultFromElement = 0;
         Integer defaultSize = 20;
         Mockito
-                .when(userRepository.existsById(ownerId))
+                .when(userCache.exists(ownerId))
                 .thenReturn(true);
         Mockito
                 .when(bookingRepository.findAllByItemOwnerIdAndStartAfterOrderByStartDesc(
                         Mockito.anyLong(), Mockito.any(), Mockito.any(Pageable.class)))
-                .thenReturn(Page.empty());
+                .thenReturn(new SliceImpl<>(List.of()));
         //when
         bookingService.getAllByOwnerIdAndState(ownerId, defaultState, defaultFromElement, defaultSize);
         //then
-        Mockito.verify(userRepository, Mockito.times(1))
-                .existsById(ownerId);
+        Mockito.verify(userCache, Mockito.times(1))
+                .exists(ownerId);
         Mockito.verify(bookingRepository, Mockito.times(1))
                 .findAllByItemOwnerIdAndStartAfterOrderByStartDesc(
                         Mockito.anyLong(), Mockito.any(), Mockito.any(Pageable.class));
-        Mockito.verifyNoMoreInteractions(userRepository, bookingRepository);
+        Mockito.verifyNoMoreInteractions(userCache, userRepository, bookingRepository);
     }
 
     @Test
@@ -571,21 +698,21 @@ public class BookingServiceImplTest {
         Integer defaultFromElement = 0;
         Integer defaultSize = 20;
         Mockito
-                .when(userRepository.existsById(ownerId))
+                .when(userCache.exists(ownerId))
                 .thenReturn(true);
         Mockito
                 .when(bookingRepository.findAllByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDesc(
                         Mockito.anyLong(), Mockito.any(), Mockito.any(), Mockito.any(Pageable.class)))
-                .thenReturn(Page.empty());
+                .thenReturn(new SliceImpl<>(List.of()));
         //when
         bookingService.getAllByOwnerIdAndState(ownerId, defaultState, defaultFromElement, defaultSize);
         //then
-        Mockito.verify(userRepository, Mockito.times(1))
-                .existsById(ownerId);
+        Mockito.verify(userCache, Mockito.times(1))
+                .exists(ownerId);
         Mockito.verify(bookingRepository, Mockito.times(1))
                 .findAllByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDesc(
                         Mockito.anyLong(), Mockito.any(), Mockito.any(), Mockito.any(Pageable.class));
-        Mockito.verifyNoMoreInteractions(userRepository, bookingRepository);
+        Mockito.verifyNoMoreInteractions(userCache, userRepository, bookingRepository);
     }
 
     @Test
@@ -596,21 +723,21 @@ public class BookingServiceImplTest {
         Integer defaultFromElement = 0;
         Integer defaultSize = 20;
         Mockito
-                .when(userRepository.existsById(ownerId))
+                .when(userCache.exists(ownerId))
                 .thenReturn(true);
         Mockito
                 .when(bookingRepository.findAllByItemOwnerIdAndStatusOrderByStartDesc(
                         Mockito.anyLong(), Mockito.any(), Mockito.any(Pageable.class)))
-                .thenReturn(Page.empty());
+                .thenReturn(new SliceImpl<>(List.of()));
         //when
         bookingService.getAllByOwnerIdAndState(ownerId, defaultState, defaultFromElement, defaultSize);
         //then
-        Mockito.verify(userRepository, Mockito.times(1))
-                .existsById(ownerId);
+        Mockito.verify(userCache, Mockito.times(1))
+                .exists(ownerId);
         Mockito.verify(bookingRepository, Mockito.times(1))
                 .findAllByItemOwnerIdAndStatusOrderByStartDesc(
                         Mockito.anyLong(), Mockito.any(), Mockito.any(Pageable.class));
-        Mockito.verifyNoMoreInteractions(userRepository, bookingRepository);
+        Mockito.verifyNoMoreInteractions(userCache, userRepository, bookingRepository);
     }
 
     @Test
@@ -621,20 +748,91 @@ public class BookingServiceImplTest {
         Integer defaultFromElement = 0;
         Integer defaultSize = 20;
         Mockito
-                .when(userRepository.existsById(ownerId))
+                .when(userCache.exists(ownerId))
                 .thenReturn(true);
         Mockito
                 .when(bookingRepository.findAllByItemOwnerIdAndStatusOrderByStartDesc(
                         Mockito.anyLong(), Mockito.any(), Mockito.any(Pageable.class)))
-                .thenReturn(Page.empty());
+                .thenReturn(new SliceImpl<>(List.of()));
         //when
         bookingService.getAllByOwnerIdAndState(ownerId, defaultState, defaultFromElement, defaultSize);
         //then
-        Mockito.verify(userRepository, Mockito.times(1))
-                .existsById(ownerId);
+        Mockito.verify(userCache, Mockito.times(1))
+                .exists(ownerId);
         Mockito.verify(bookingRepository, Mockito.times(1))
                 .findAllByItemOwnerIdAndStatusOrderByStartDesc(
                         Mockito.anyLong(), Mockito.any(), Mockito.any(Pageable.class));
-        Mockito.verifyNoMoreInteractions(userRepository, bookingRepository);
+        Mockito.verifyNoMoreInteractions(userCache, userRepository, bookingRepository);
+    }
+
+    @Test
+    void testGetSliceByBookerIdAndStateHasNext() {
+        //given
+        Long bookerId = user2.getId();
+        BookingResponseDto bookingResponse1 = BookingMapper.toBookingResponseDto(booking1);
+        BookingResponseDto bookingResponse2 = BookingMapper.toBookingResponseDto(Booking.builder()
+                .id(2L)
+                .start(start.minusDays(1))
+                .end(end.minusDays(1))
+                .item(item1)
+                .booker(user2)
+                .status(BookingStatus.WAITING)
+                .build());
+        BookingCursor cursor = new BookingCursor(start.plusDays(1), 5L);
+        Mockito
+                .when(userCache.exists(bookerId))
+                .thenReturn(true);
+        Mockito
+                .when(bookingRepository.findSliceByBookerId(Mockito.eq(bookerId), Mockito.eq(BookingState.WAITING),
+                        Mockito.any(LocalDateTime.class), Mockito.any(BookingCursor.class), Mockito.eq(2)))
+                .thenReturn(List.of(bookingResponse1, bookingResponse2));
+        //when
+        Slice<BookingResponseDto> slice =
+                bookingService.getSliceByBookerIdAndState(bookerId, "waiting", cursor.encode(), 1);
+        //then
+        assertThat(slice.getContent(), equalTo(List.of(bookingResponse1)));
+        assertThat(slice.hasNext(), equalTo(true));
+        Mockito.verify(bookingRepository, Mockito.times(1))
+                .findSliceByBookerId(Mockito.eq(bookerId), Mockito.eq(BookingState.WAITING),
+                        Mockito.any(LocalDateTime.class),
+                        Mockito.argThat(actual -> actual.getId().equals(cursor.getId()) &&
+                                actual.getStart().equals(cursor.getStart())),
+                        Mockito.eq(2));
+        Mockito.verifyNoMoreInteractions(bookingRepository);
+    }
+
+    @Test
+    void testGetSliceByOwnerIdAndStateFirstPage() {
+        //given
+        Long ownerId = user1.getId();
+        BookingResponseDto bookingResponse1 = BookingMapper.toBookingResponseDto(booking1);
+        Mockito
+                .when(userCache.exists(ownerId))
+                .thenReturn(true);
+        Mockito
+                .when(bookingRepository.findSliceByItemOwnerId(Mockito.eq(ownerId), Mockito.eq(BookingState.ALL),
+                        Mockito.any(LocalDateTime.class), Mockito.isNull(), Mockito.eq(21)))
+                .thenReturn(List.of(bookingResponse1));
+        //when
+        Slice<BookingResponseDto> slice = bookingService.getSliceByOwnerIdAndState(ownerId, "ALL", "", 20);
+        //then
+        assertThat(slice.getContent(), equalTo(List.of(bookingResponse1)));
+        assertThat(slice.hasNext(), equalTo(false));
+    }
+
+    @Test
+    void testGetSliceByOwnerIdAndStateWrongCursor() {
+        //given
+        Long ownerId = user1.getId();
+        Mockito
+                .when(userCache.exists(ownerId))
+                .thenReturn(true);
+        //when
+        //then
+        Assertions.assertThrows(ValidationException.class,
+                () -> bookingService.getSliceByOwnerIdAndState(ownerId, "ALL", "not-a-cursor", 20));
+        Assertions.assertThrows(ValidationException.class,
+                () -> bookingService.getSliceByOwnerIdAndState(ownerId, "UNKNOWN", "", 20));
+        Mockito.verifyNoInteractions(bookingRepository);
     }
 }
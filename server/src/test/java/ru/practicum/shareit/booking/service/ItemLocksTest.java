@@ -0,0 +1,89 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.exception.ServiceUnavailableException;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ItemLocksTest {
+    private final ItemLocks itemLocks = new ItemLocks(10, Duration.ofMillis(50));
+
+    @AfterEach
+    void afterEach() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testStripeCountRoundedUpToPowerOfTwo() {
+        assertThat(itemLocks.stripeCount(), equalTo(16));
+        assertThat(new ItemLocks(64, Duration.ZERO).stripeCount(), equalTo(64));
+        assertThat(new ItemLocks(1, Duration.ZERO).stripeCount(), equalTo(1));
+    }
+
+    @Test
+    void testConsecutiveItemsUseDistinctStripes() {
+        //given
+        Set<ReentrantLock> stripes = new HashSet<>();
+        //when
+        for (long itemId = 1; itemId <= itemLocks.stripeCount(); itemId++) {
+            stripes.add(itemLocks.stripeFor(itemId));
+        }
+        //then
+        assertThat(stripes.size(), equalTo(itemLocks.stripeCount()));
+    }
+
+    @Test
+    void testLockHeldUntilTransactionCompletes() {
+        //given
+        TransactionSynchronizationManager.initSynchronization();
+        //when
+        itemLocks.lockUntilCompletion(1L);
+        //then
+        assertThat(tryLockFromOtherThread(1L), equalTo(false));
+        assertThat(tryLockFromOtherThread(2L), equalTo(true));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        assertThat(tryLockFromOtherThread(1L), equalTo(true));
+    }
+
+    @Test
+    void testLockUntilCompletion_whenItemBusy_thenServiceUnavailable() {
+        //given
+        ReentrantLock stripe = itemLocks.stripeFor(1L);
+        CompletableFuture.runAsync(stripe::lock).join();
+        TransactionSynchronizationManager.initSynchronization();
+        //when
+        //then
+        Assertions.assertThrows(ServiceUnavailableException.class, () -> itemLocks.lockUntilCompletion(1L));
+        assertThat(TransactionSynchronizationManager.getSynchronizations().size(), equalTo(0));
+    }
+
+    @Test
+    void testLockUntilCompletion_whenNoTransaction_thenIllegalState() {
+        Assertions.assertThrows(IllegalStateException.class, () -> itemLocks.lockUntilCompletion(1L));
+    }
+
+    private boolean tryLockFromOtherThread(Long itemId) {
+        return CompletableFuture.supplyAsync(() -> {
+            ReentrantLock stripe = itemLocks.stripeFor(itemId);
+            boolean locked = stripe.tryLock();
+            if (locked) {
+                stripe.unlock();
+            }
+            return locked;
+        }).join();
+    }
+}
@@ -0,0 +1,102 @@
+package ru.practicum.shareit.booking.storage;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/*
+ * Run with: mvn -pl server test -Dtest=BookingBulkInsertBenchmarkTest -Dbenchmark=true
+ * Embedded H2 has no network round trips; to see what batching saves, point it at a server, e.g.
+ * -Dbenchmark.datasource-url=jdbc:h2:tcp://localhost:9092/mem:bulk-insert
+ */
+@Slf4j
+@Transactional
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = {"spring.datasource.url=${benchmark.datasource-url:jdbc:h2:mem:bulk-insert}",
+                "spring.jpa.properties.hibernate.generate_statistics=true",
+                "logging.level.org.hibernate.SQL=INFO",
+                "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO",
+                "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN",
+                "logging.level.org.springframework.transaction.interceptor=INFO",
+                "logging.level.org.springframework.orm.jpa.JpaTransactionManager=INFO",
+                "logging.level.ru.practicum=INFO"})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class BookingBulkInsertBenchmarkTest {
+    private static final int BOOKINGS = 100_000;
+    private static final int CHUNK_SIZE = 1_000;
+    private static final int ITEMS = 100;
+    private static final int RUNS = 5;
+
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final BookingRepository bookingRepository;
+
+    @Test
+    void benchmarkInsertBookings() {
+        jdbcTemplate.update("INSERT INTO users (name, email) VALUES ('Owner', 'owner@email.com')");
+        jdbcTemplate.update("INSERT INTO users (name, email) VALUES ('Booker', 'booker@email.com')");
+        long ownerId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = 'owner@email.com'", Long.class);
+        long bookerId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = 'booker@email.com'", Long.class);
+        for (int i = 0; i < ITEMS; i++) {
+            jdbcTemplate.update("INSERT INTO items (name, description, is_available, owner_id) VALUES (?, ?, ?, ?)",
+                    "Item " + i, "Item description", true, ownerId);
+        }
+        List<Long> itemIds = jdbcTemplate.queryForList("SELECT id FROM items", Long.class);
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+
+        for (int run = 0; run < RUNS; run++) {
+            statistics.clear();
+            long started = System.nanoTime();
+            insertBookings(itemIds, bookerId);
+            long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+            log.info("Inserted {} bookings in {} ms ({} rows/s), {} statements prepared",
+                    BOOKINGS, elapsedMillis, BOOKINGS * 1000L / Math.max(elapsedMillis, 1),
+                    statistics.getPrepareStatementCount());
+            assertThat(statistics.getEntityInsertCount(), equalTo((long) BOOKINGS));
+        }
+        assertThat(bookingRepository.count(), equalTo((long) BOOKINGS * RUNS));
+    }
+
+    private void insertBookings(List<Long> itemIds, long bookerId) {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        User booker = entityManager.getReference(User.class, bookerId);
+        for (int from = 0; from < BOOKINGS; from += CHUNK_SIZE) {
+            List<Booking> chunk = new ArrayList<>(CHUNK_SIZE);
+            for (int i = from; i < from + CHUNK_SIZE; i++) {
+                chunk.add(Booking.builder()
+                        .item(entityManager.getReference(Item.class, itemIds.get(i % itemIds.size())))
+                        .booker(booker)
+                        .start(start.plusHours(i))
+                        .end(start.plusHours(i + 1))
+                        .status(BookingStatus.WAITING)
+                        .build());
+            }
+            bookingRepository.saveAll(chunk);
+            entityManager.flush();
+            entityManager.clear();
+            booker = entityManager.getReference(User.class, bookerId);
+        }
+    }
+}
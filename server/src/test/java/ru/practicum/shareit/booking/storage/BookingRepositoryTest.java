@@ -0,0 +1,138 @@
+package ru.practicum.shareit.booking.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+@DataJpaTest
+class BookingRepositoryTest {
+    @Autowired
+    private TestEntityManager testEntityManager;
+    @Autowired
+    private BookingRepository bookingRepository;
+    private User booker;
+    private Item item1;
+    private Item item2;
+    private Item item3;
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        User owner = User.builder()
+                .name("Owner name")
+                .email("owner@email.ru")
+                .build();
+        booker = User.builder()
+                .name("Booker name")
+                .email("booker@email.ru")
+                .build();
+        testEntityManager.persist(owner);
+        testEntityManager.persist(booker);
+        item1 = persistItem("Item1 name", owner);
+        item2 = persistItem("Item2 name", owner);
+        item3 = persistItem("Item3 name", owner);
+        testEntityManager.flush();
+    }
+
+    @Test
+    void findLastAndNextByItemIdInAndStatus() {
+        persistBooking(item1, now.minusDays(3), BookingStatus.APPROVED);
+        Booking last1 = persistBooking(item1, now.minusDays(1), BookingStatus.APPROVED);
+        persistBooking(item1, now.minusHours(1), BookingStatus.REJECTED);
+        Booking next1 = persistBooking(item1, now.plusDays(1), BookingStatus.APPROVED);
+        persistBooking(item1, now.plusDays(2), BookingStatus.APPROVED);
+        Booking next2 = persistBooking(item2, now.plusDays(3), BookingStatus.APPROVED);
+        persistBooking(item3, now.minusDays(1), BookingStatus.APPROVED);
+        testEntityManager.flush();
+
+        List<Booking> bookings = bookingRepository.findLastAndNextByItemIdInAndStatus(
+                List.of(item1.getId(), item2.getId()), BookingStatus.APPROVED, now);
+
+        assertThat(bookings.size(), is(3));
+        assertThat(bookings.get(0).getId(), is(last1.getId()));
+        assertThat(bookings.get(1).getId(), is(next1.getId()));
+        assertThat(bookings.get(2).getId(), is(next2.getId()));
+        assertThat(bookings.get(0).getBooker().getId(), is(booker.getId()));
+    }
+
+    @Test
+    void findSliceByItemOwnerIdPagesByStartAndId() {
+        Booking sameStart1 = persistBooking(item1, now.plusDays(1), BookingStatus.WAITING);
+        Booking sameStart2 = persistBooking(item2, now.plusDays(1), BookingStatus.WAITING);
+        Booking latest = persistBooking(item3, now.plusDays(2), BookingStatus.WAITING);
+        Booking earliest = persistBooking(item1, now.minusDays(1), BookingStatus.APPROVED);
+        testEntityManager.flush();
+        Long ownerId = item1.getOwner().getId();
+
+        List<BookingResponseDto> firstPage = bookingRepository.findSliceByItemOwnerId(
+                ownerId, BookingState.ALL, now, null, 2);
+        List<BookingResponseDto> secondPage = bookingRepository.findSliceByItemOwnerId(
+                ownerId, BookingState.ALL, now, BookingCursor.of(firstPage.get(1)), 2);
+        List<BookingResponseDto> futurePage = bookingRepository.findSliceByItemOwnerId(
+                ownerId, BookingState.FUTURE, now, new BookingCursor(sameStart2.getStart(), sameStart2.getId()), 10);
+
+        assertThat(firstPage.size(), is(2));
+        assertThat(firstPage.get(0).getId(), is(latest.getId()));
+        assertThat(firstPage.get(1).getId(), is(sameStart2.getId()));
+        assertThat(secondPage.size(), is(2));
+        assertThat(secondPage.get(0).getId(), is(sameStart1.getId()));
+        assertThat(secondPage.get(1).getId(), is(earliest.getId()));
+        assertThat(futurePage.size(), is(1));
+        assertThat(futurePage.get(0).getId(), is(sameStart1.getId()));
+    }
+
+    @Test
+    void findSliceByBookerIdFiltersByStatus() {
+        persistBooking(item1, now.plusDays(1), BookingStatus.WAITING);
+        Booking rejected = persistBooking(item2, now.plusDays(2), BookingStatus.REJECTED);
+        testEntityManager.flush();
+
+        List<BookingResponseDto> bookings = bookingRepository.findSliceByBookerId(
+                booker.getId(), BookingState.REJECTED, now, null, 10);
+
+        assertThat(bookings.size(), is(1));
+        assertThat(bookings.get(0).getId(), is(rejected.getId()));
+        assertThat(bookings.get(0).getStatus(), is(BookingStatus.REJECTED));
+        assertThat(bookings.get(0).getItem().getId(), is(item2.getId()));
+        assertThat(bookings.get(0).getItem().getName(), is(item2.getName()));
+        assertThat(bookings.get(0).getBooker().getId(), is(booker.getId()));
+    }
+
+    private Item persistItem(String name, User owner) {
+        Item item = Item.builder()
+                .name(name)
+                .description(name + " description")
+                .available(true)
+                .owner(owner)
+                .build();
+        return testEntityManager.persist(item);
+    }
+
+    private Booking persistBooking(Item item, LocalDateTime start, BookingStatus status) {
+        Booking booking = Booking.builder()
+                .item(item)
+                .booker(booker)
+                .start(start)
+                .end(start.plusHours(2))
+                .status(status)
+                .build();
+        return testEntityManager.persist(booking);
+    }
+}
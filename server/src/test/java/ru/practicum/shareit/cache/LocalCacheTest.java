@@ -0,0 +1,156 @@
+package ru.practicum.shareit.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class LocalCacheTest {
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<Long> loads = new ArrayList<>();
+    private LocalCacheProperties.Spec spec;
+
+    @BeforeEach
+    void beforeEach() {
+        spec = new LocalCacheProperties.Spec();
+        spec.setMaxSize(2);
+        spec.setTtl(Duration.ofMinutes(5));
+    }
+
+    @Test
+    void testLruKeepsRecentlyReadEntry() {
+        //given
+        LocalCache<Long, String> cache = new LocalCache<>("test", spec, meterRegistry);
+        cache.get(1L, this::load);
+        cache.get(2L, this::load);
+        //when
+        cache.get(1L, this::load);
+        cache.get(3L, this::load);
+        cache.get(1L, this::load);
+        cache.get(2L, this::load);
+        //then
+        assertThat(loads, equalTo(List.of(1L, 2L, 3L, 2L)));
+        assertThat(meterRegistry.get("cache.evictions").counter().count(), equalTo(2.0));
+        assertThat(meterRegistry.get("cache.size").gauge().value(), equalTo(2.0));
+    }
+
+    @Test
+    void testFifoEvictsOldestLoadedEntry() {
+        //given
+        spec.setEvictionPolicy(EvictionPolicy.FIFO);
+        LocalCache<Long, String> cache = new LocalCache<>("test", spec, meterRegistry);
+        cache.get(1L, this::load);
+        cache.get(2L, this::load);
+        //when
+        cache.get(1L, this::load);
+        cache.get(3L, this::load);
+        cache.get(1L, this::load);
+        //then
+        assertThat(loads, equalTo(List.of(1L, 2L, 3L, 1L)));
+    }
+
+    @Test
+    void testExpiredEntryIsReloaded() {
+        //given
+        spec.setTtl(Duration.ZERO);
+        LocalCache<Long, String> cache = new LocalCache<>("test", spec, meterRegistry);
+        //when
+        cache.get(1L, this::load);
+        cache.get(1L, this::load);
+        //then
+        assertThat(loads, equalTo(List.of(1L, 1L)));
+        assertThat(count("miss"), equalTo(2.0));
+        assertThat(count("hit"), equalTo(0.0));
+    }
+
+    @Test
+    void testExpireAfterShortensTtl() {
+        //given
+        LocalCache<Long, String> cache = new LocalCache<>("test", spec, meterRegistry,
+                value -> value.equals("1") ? Duration.ZERO : Duration.ofDays(1));
+        //when
+        cache.get(1L, this::load);
+        cache.get(1L, this::load);
+        cache.get(2L, this::load);
+        cache.get(2L, this::load);
+        //then
+        assertThat(loads, equalTo(List.of(1L, 1L, 2L)));
+        assertThat(count("hit"), equalTo(1.0));
+    }
+
+    @Test
+    void testMissingValueIsNotCached() {
+        //given
+        LocalCache<Long, String> cache = new LocalCache<>("test", spec, meterRegistry);
+        //when
+        String first = cache.get(1L, id -> null);
+        String second = cache.get(1L, this::load);
+        //then
+        assertThat(first, equalTo(null));
+        assertThat(second, equalTo("1"));
+    }
+
+    @Test
+    void testValueLoadedBeforeEvictionIsNotStored() {
+        //given
+        LocalCache<Long, String> cache = new LocalCache<>("test", spec, meterRegistry);
+        //when
+        cache.get(1L, id -> {
+            cache.evict(id);
+            return "stale";
+        });
+        String actual = cache.get(1L, this::load);
+        //then
+        assertThat(actual, equalTo("1"));
+    }
+
+    @Test
+    void testEntryReloadedBeforeCommitIsGoneBeforeAfterCompletion() {
+        //given
+        LocalCache<Long, String> cache = new LocalCache<>("test", spec, meterRegistry);
+        AtomicReference<String> readOnCompletion = new AtomicReference<>();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    readOnCompletion.set(cache.get(1L, LocalCacheTest.this::load));
+                }
+            });
+            cache.evict(1L);
+            cache.get(1L, id -> "stale");
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            //when
+            TransactionSynchronizationUtils.invokeAfterCommit(synchronizations);
+            TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations,
+                    TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        //then
+        assertThat(readOnCompletion.get(), equalTo("1"));
+    }
+
+    private String load(Long id) {
+        loads.add(id);
+        return String.valueOf(id);
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("result", result)
+                .counter()
+                .count();
+    }
+}
@@ -0,0 +1,55 @@
+package ru.practicum.shareit.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import ru.practicum.shareit.exception.ServiceUnavailableException;
+
+import javax.servlet.DispatcherType;
+import java.time.Duration;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class DbConcurrencyInterceptorTest {
+    private final DbConcurrencyInterceptor interceptor = new DbConcurrencyInterceptor(1, Duration.ofMillis(10));
+
+    @Test
+    void testPreHandleRejectsWhenPermitsExhausted() throws InterruptedException {
+        //given
+        interceptor.preHandle(null, null, null);
+        //when
+        ServiceUnavailableException e = assertThrows(ServiceUnavailableException.class,
+                () -> interceptor.preHandle(null, null, null));
+        //then
+        assertThat(e.getMessage(), equalTo("Too many concurrent requests, try again later"));
+        assertThat(interceptor.availablePermits(), equalTo(0));
+    }
+
+    @Test
+    void testAfterCompletionReleasesPermit() throws InterruptedException {
+        //given
+        interceptor.preHandle(null, null, null);
+        //when
+        interceptor.afterCompletion(null, null, null, null);
+        boolean actual = interceptor.preHandle(null, null, null);
+        //then
+        assertThat(actual, equalTo(true));
+    }
+
+    @Test
+    void testAsyncRequestHoldsOnePermitUntilAsyncDispatchCompletes() throws InterruptedException {
+        //given
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        interceptor.preHandle(request, null, null);
+        request.setDispatcherType(DispatcherType.ASYNC);
+        //when
+        boolean actual = interceptor.preHandle(request, null, null);
+        int permitsDuringAsyncDispatch = interceptor.availablePermits();
+        interceptor.afterCompletion(request, null, null, null);
+        //then
+        assertThat(actual, equalTo(true));
+        assertThat(permitsDuringAsyncDispatch, equalTo(0));
+        assertThat(interceptor.availablePermits(), equalTo(1));
+    }
+}
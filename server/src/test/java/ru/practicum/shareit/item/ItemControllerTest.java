@@ -8,23 +8,32 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.exception.AccessDeniedException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemImportService;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.user.model.User;
 
 import javax.validation.ValidationException;
+import java.io.BufferedReader;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -40,6 +49,8 @@ class ItemControllerTest {
     private MockMvc mockMvc;
     @MockBean
     private ItemService itemService;
+    @MockBean
+    private ItemImportService itemImportService;
 
     @BeforeEach
     void setUp() {
@@ -117,6 +128,51 @@ class ItemControllerTest {
                 .andExpect(status().isForbidden());
     }
 
+    @SneakyThrows
+    @Test
+    @SuppressWarnings("unchecked")
+    void addNewBulk_thenResultLinePerItem() {
+        ItemImportResult created = ItemImportResult.builder()
+                .line(1)
+                .status(201)
+                .item(itemMapper.toItemResponseDto(item1))
+                .build();
+        ItemImportResult rejected = ItemImportResult.builder()
+                .line(2)
+                .status(400)
+                .error("Missing required fields: name")
+                .build();
+        Mockito.doAnswer(invocationOnMock -> {
+            BufferedReader ndjson = invocationOnMock.getArgument(0);
+            assertThat(ndjson.readLine(), equalTo("{\"name\":\"Item1\"}"));
+            invocationOnMock.getArgument(2, Consumer.class).accept(List.of(created, rejected));
+            return null;
+        }).when(itemImportService).addNewBulk(Mockito.any(), Mockito.eq(1L), Mockito.any());
+
+        mockMvc.perform(post("/items/bulk")
+                        .contentType("application/x-ndjson")
+                        .header("X-Sharer-User-Id", 1)
+                        .content("{\"name\":\"Item1\"}\n{}\n"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string(objectMapper.writeValueAsString(created) + "\n"
+                        + objectMapper.writeValueAsString(rejected) + "\n"));
+    }
+
+    @SneakyThrows
+    @Test
+    void addNewBulk_whenUserNotFound_thenNotFound() {
+        Mockito.doThrow(new NotFoundException("User ID = 99 not found!"))
+                .when(itemImportService).addNewBulk(Mockito.any(), Mockito.eq(99L), Mockito.any());
+
+        mockMvc.perform(post("/items/bulk")
+                        .contentType("application/x-ndjson")
+                        .header("X-Sharer-User-Id", 99)
+                        .content("{}\n"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error", is("User ID = 99 not found!")));
+    }
+
     @SneakyThrows
     @Test
     void patchUpdate_whenWrongUserId_thenNotFound() {
@@ -148,11 +204,31 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$.name", is(item1.getName())))
                 .andExpect(jsonPath("$.description", is(item1.getDescription())))
                 .andExpect(jsonPath("$.available", is(item1.isAvailable())));
-        Mockito.verify(itemService, Mockito.only())
-                .getById(Mockito.any(), Mockito.any());
+        Mockito.verify(itemService, Mockito.times(1))
+                .getEtag(itemId, userId);
+        Mockito.verify(itemService, Mockito.times(1))
+                .getById(itemId, userId);
         Mockito.verifyNoMoreInteractions(itemService);
     }
 
+    @SneakyThrows
+    @Test
+    void getById_whenVersionETagMatches_thenNotModifiedWithoutLoading() {
+        Long itemId = item1.getId();
+        Long userId = item1.getOwner().getId();
+        Mockito
+                .when(itemService.getEtag(itemId, userId))
+                .thenReturn(Optional.of("2-1-5-null"));
+
+        mockMvc.perform(get("/items/{itemId}", itemId)
+                        .header("X-Sharer-User-Id", userId)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"2-1-5-null\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        Mockito.verify(itemService, Mockito.never())
+                .getById(Mockito.any(), Mockito.any());
+    }
+
     @SneakyThrows
     @Test
     void getAllOwnerItems() {
@@ -0,0 +1,148 @@
+package ru.practicum.shareit.item.search;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.storage.ItemRepository;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+@ExtendWith(MockitoExtension.class)
+class MemoryItemSearchEngineTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    @Mock
+    private ItemRepository itemRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    private MemoryItemSearchEngine searchEngine;
+    private Item drill;
+    private Item saw;
+    private Item hammer;
+
+    @BeforeEach
+    void setUp() {
+        searchEngine = new MemoryItemSearchEngine(itemRepository, transactionManager, meterRegistry);
+        drill = Item.builder()
+                .id(1L)
+                .name("Drill")
+                .description("Cordless drill")
+                .available(true)
+                .build();
+        saw = Item.builder()
+                .id(2L)
+                .name("Saw")
+                .description("Hand saw for wood")
+                .available(true)
+                .build();
+        hammer = Item.builder()
+                .id(3L)
+                .name("Hammer")
+                .description("Steel hammer, drills not included")
+                .available(true)
+                .build();
+        Mockito.when(itemRepository.streamAllByAvailableTrueOrderById())
+                .thenReturn(Stream.of(projection(drill), projection(saw), projection(hammer)));
+        searchEngine.rebuild();
+    }
+
+    @Test
+    void testSearchAvailableMatchesSubstringIgnoringCase() {
+        mockHydration();
+
+        List<Item> items = searchEngine.searchAvailable("dRiL", PageRequest.of(0, 20));
+
+        assertThat(ids(items), equalTo(List.of(1L, 3L)));
+        assertThat(meterRegistry.get("shareit.search.index.items").gauge().value(), equalTo(3.0));
+        assertThat(meterRegistry.get("shareit.search.index.rebuild").timer().count(), equalTo(1L));
+    }
+
+    @Test
+    void testSearchAvailablePagesByOffset() {
+        mockHydration();
+
+        List<Item> items = searchEngine.searchAvailable("o", PageRequest.of(1, 1));
+
+        assertThat(ids(items), equalTo(List.of(2L)));
+    }
+
+    @Test
+    void testSearchAvailableShortQueryPagesInIdOrder() {
+        mockHydration();
+
+        List<Item> firstPage = searchEngine.searchAvailable("dR", PageRequest.of(0, 1));
+        List<Item> secondPage = searchEngine.searchAvailable("dR", PageRequest.of(1, 1));
+
+        assertThat(ids(firstPage), equalTo(List.of(1L)));
+        assertThat(ids(secondPage), equalTo(List.of(3L)));
+    }
+
+    @Test
+    void testSearchAvailableWithoutMatchesSkipsDatabase() {
+        List<Item> items = searchEngine.searchAvailable("screwdriver", PageRequest.of(0, 20));
+
+        assertThat(items.size(), equalTo(0));
+        Mockito.verify(itemRepository, Mockito.never()).findAllById(Mockito.any());
+    }
+
+    @Test
+    void testIndexUpdatesTextAndAvailability() {
+        mockHydration();
+        drill.setName("Impact driver");
+        drill.setDescription("Cordless driver");
+        hammer.setAvailable(false);
+
+        searchEngine.index(drill);
+        searchEngine.index(hammer);
+
+        assertThat(ids(searchEngine.searchAvailable("drill", PageRequest.of(0, 20))).size(), equalTo(0));
+        assertThat(ids(searchEngine.searchAvailable("driver", PageRequest.of(0, 20))), equalTo(List.of(1L)));
+        assertThat(meterRegistry.get("shareit.search.index.items").gauge().value(), equalTo(2.0));
+    }
+
+    private void mockHydration() {
+        Mockito.lenient().when(itemRepository.findAllById(Mockito.any()))
+                .thenAnswer(invocationOnMock -> {
+                    Iterable<Long> ids = invocationOnMock.getArgument(0);
+                    return Stream.of(hammer, saw, drill)
+                            .filter(item -> ((List<?>) ids).contains(item.getId()))
+                            .collect(Collectors.toList());
+                });
+    }
+
+    private static List<Long> ids(List<Item> items) {
+        return items.stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+    }
+
+    private static ItemSearchProjection projection(Item item) {
+        return new ItemSearchProjection() {
+            @Override
+            public Long getId() {
+                return item.getId();
+            }
+
+            @Override
+            public String getName() {
+                return item.getName();
+            }
+
+            @Override
+            public String getDescription() {
+                return item.getDescription();
+            }
+        };
+    }
+}
@@ -0,0 +1,77 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.storage.ItemRepository;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+@ExtendWith(MockitoExtension.class)
+class SqlItemSearchEngineTest {
+    private final Pageable pageable = PageRequest.of(0, 20);
+    private final Item drill = Item.builder()
+            .id(1L)
+            .name("Drill")
+            .description("Cordless drill")
+            .available(true)
+            .build();
+    @Mock
+    private ItemRepository itemRepository;
+    @Mock
+    private DataSource dataSource;
+    @Mock
+    private Connection connection;
+    @Mock
+    private DatabaseMetaData metaData;
+
+    @Test
+    void testSearchAvailableOnPostgreSqlUsesRankedQuery() throws Exception {
+        //given
+        mockProductName("PostgreSQL");
+        Mockito
+                .when(itemRepository.searchAvailByTextRanked("dril", pageable))
+                .thenReturn(new SliceImpl<>(List.of(drill)));
+        SqlItemSearchEngine searchEngine = new SqlItemSearchEngine(itemRepository, dataSource);
+        //when
+        List<Item> items = searchEngine.searchAvailable("dril", pageable);
+        //then
+        assertThat(items, equalTo(List.of(drill)));
+        Mockito.verify(itemRepository, Mockito.never())
+                .searchAvailByText(Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    void testSearchAvailableOnH2UsesLikeQuery() throws Exception {
+        //given
+        mockProductName("H2");
+        Mockito
+                .when(itemRepository.searchAvailByText("dril", pageable))
+                .thenReturn(new SliceImpl<>(List.of(drill)));
+        SqlItemSearchEngine searchEngine = new SqlItemSearchEngine(itemRepository, dataSource);
+        //when
+        List<Item> items = searchEngine.searchAvailable("dril", pageable);
+        //then
+        assertThat(items, equalTo(List.of(drill)));
+        Mockito.verify(itemRepository, Mockito.never())
+                .searchAvailByTextRanked(Mockito.any(), Mockito.any());
+    }
+
+    private void mockProductName(String productName) throws Exception {
+        Mockito.when(dataSource.getConnection()).thenReturn(connection);
+        Mockito.when(connection.getMetaData()).thenReturn(metaData);
+        Mockito.when(metaData.getDatabaseProductName()).thenReturn(productName);
+    }
+}
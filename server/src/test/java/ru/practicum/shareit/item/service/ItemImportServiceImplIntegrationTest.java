@@ -0,0 +1,84 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.dto.ItemImportResult;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.dto.UserRequestDto;
+import ru.practicum.shareit.user.dto.UserResponseDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import javax.persistence.EntityManager;
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Transactional
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "shareit.item-import.batch-size=2")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class ItemImportServiceImplIntegrationTest {
+    private final EntityManager entityManager;
+    private final UserService userService;
+    private final ItemImportService itemImportService;
+
+    @Test
+    void testAddNewBulk() throws Exception {
+        //given
+        UserResponseDto owner = userService.addNew(UserRequestDto.builder()
+                .name("Owner name")
+                .email("owner@email.com")
+                .build());
+        String ndjson = "{\"name\":\"Drill\",\"description\":\"Cordless drill\",\"available\":true}\n"
+                + "\n"
+                + "{\"name\":\n"
+                + "{\"name\":\"Saw\"}\n"
+                + "{\"name\":\"Ladder\",\"description\":\"Tall ladder\",\"available\":true,\"requestId\":999}\n"
+                + "{\"name\":\"Tent\",\"description\":\"Two-person tent\",\"available\":false}\n";
+        List<List<ItemImportResult>> batches = new ArrayList<>();
+        //when
+        itemImportService.addNewBulk(new BufferedReader(new StringReader(ndjson)), owner.getId(), batches::add);
+        //then
+        List<ItemImportResult> results = batches.stream()
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
+        assertThat(batches.size(), equalTo(3));
+        assertThat(results.stream().map(ItemImportResult::getLine).collect(Collectors.toList()),
+                equalTo(List.of(1, 3, 4, 5, 6)));
+        assertThat(results.stream().map(ItemImportResult::getStatus).collect(Collectors.toList()),
+                equalTo(List.of(201, 400, 400, 404, 201)));
+        assertThat(results.get(0).getItem().getId(), notNullValue());
+        assertThat(results.get(0).getItem().getName(), equalTo("Drill"));
+        assertThat(results.get(2).getError(), equalTo("Missing required fields: description, available"));
+        assertThat(results.get(3).getError(), equalTo("ItemRequest ID = 999 not found!"));
+        assertThat(results.get(4).getItem().isAvailable(), equalTo(false));
+
+        List<Item> items = entityManager.createQuery(
+                        "SELECT i FROM Item i WHERE i.owner.id = :ownerId ORDER BY i.id", Item.class)
+                .setParameter("ownerId", owner.getId())
+                .getResultList();
+        assertThat(items.stream().map(Item::getName).collect(Collectors.toList()), equalTo(List.of("Drill", "Tent")));
+    }
+
+    @Test
+    void testAddNewBulk_whenUserNotFound_thenNotFound() {
+        //given
+        List<List<ItemImportResult>> batches = new ArrayList<>();
+        //when
+        //then
+        assertThrows(NotFoundException.class, () -> itemImportService.addNewBulk(
+                new BufferedReader(new StringReader("{}\n")), 999L, batches::add));
+        assertThat(batches.size(), equalTo(0));
+    }
+}
@@ -1,28 +1,43 @@
 package ru.practicum.shareit.item.service;
 
 import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.CommentRequestDto;
 import ru.practicum.shareit.item.dto.ExtendedItemResponseDto;
 import ru.practicum.shareit.item.dto.ItemRequestDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.dto.UserRequestDto;
 import ru.practicum.shareit.user.dto.UserResponseDto;
 import ru.practicum.shareit.user.service.UserService;
 
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 
 @Transactional
-@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 public class ItemServiceImplIntegrationTest {
+    private final EntityManager entityManager;
     private final UserService userService;
     private final ItemService itemService;
+    private final BookingService bookingService;
 
     @Test
     void testGetAllOwnerItems() {
@@ -70,4 +85,122 @@ public class ItemServiceImplIntegrationTest {
         assertThat(actualItems.get(1).getName(), equalTo("Item 2 name"));
         assertThat(actualItems.get(1).getAvailable(), equalTo(false));
     }
+
+    @Test
+    void testFindAvailableByTextFetchesOnlyPageRows() {
+        //given
+        User owner = persistUser("owner@email.com");
+        User booker = persistUser("booker@email.com");
+        persistItems("Drill", 3, owner, booker);
+        persistItems("Saw", 10, owner, booker);
+        long[] smallDatasetCounts = countFindAvailableByText("drill", 2);
+        persistItems("Drill", 10, owner, booker);
+        persistItems("Saw", 100, owner, booker);
+        //when
+        long[] largeDatasetCounts = countFindAvailableByText("drill", 2);
+        //then
+        assertThat(largeDatasetCounts[0], equalTo(smallDatasetCounts[0]));
+        assertThat(largeDatasetCounts[1], equalTo(smallDatasetCounts[1]));
+    }
+
+    @Test
+    void testGetByIdIsCachedUntilBookingConfirmedOrCommentAdded() {
+        //given
+        User owner = persistUser("owner@email.com");
+        User booker = persistUser("booker@email.com");
+        LocalDateTime now = LocalDateTime.now();
+        Item item = Item.builder()
+                .name("Drill")
+                .description("Drill description")
+                .available(true)
+                .owner(owner)
+                .build();
+        entityManager.persist(item);
+        Booking pastBooking = persistBooking(item, booker, now.minusDays(2), BookingStatus.APPROVED);
+        Booking nextBooking = persistBooking(item, booker, now.plusDays(1), BookingStatus.WAITING);
+        entityManager.flush();
+        ExtendedItemResponseDto cachedItem = itemService.getById(item.getId(), owner.getId());
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+        //when
+        ExtendedItemResponseDto repeatedItem = itemService.getById(item.getId(), owner.getId());
+        long repeatedStatements = statistics.getPrepareStatementCount();
+        bookingService.confirmBooking(nextBooking.getId(), true, owner.getId());
+        itemService.addNewComment(new CommentRequestDto("Comment"), booker.getId(), item.getId());
+        ExtendedItemResponseDto updatedItem = itemService.getById(item.getId(), owner.getId());
+        //then
+        assertThat(repeatedStatements, equalTo(0L));
+        assertThat(cachedItem.getLastBooking().getId(), equalTo(pastBooking.getId()));
+        assertThat(cachedItem.getNextBooking(), equalTo(null));
+        assertThat(repeatedItem.getComments().size(), equalTo(0));
+        assertThat(updatedItem.getLastBooking().getId(), equalTo(pastBooking.getId()));
+        assertThat(updatedItem.getNextBooking().getId(), equalTo(nextBooking.getId()));
+        assertThat(updatedItem.getComments().size(), equalTo(1));
+    }
+
+    private Booking persistBooking(Item item, User booker, LocalDateTime start, BookingStatus status) {
+        Booking booking = Booking.builder()
+                .item(item)
+                .booker(booker)
+                .start(start)
+                .end(start.plusHours(1))
+                .status(status)
+                .build();
+        entityManager.persist(booking);
+        return booking;
+    }
+
+    private long[] countFindAvailableByText(String text, int size) {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+        List<ExtendedItemResponseDto> actualItems = itemService.findAvailableByText(text, 0, size);
+        assertThat(actualItems.size(), equalTo(size));
+        assertThat(actualItems.get(0).getLastBooking(), notNullValue());
+        assertThat(actualItems.get(0).getNextBooking(), notNullValue());
+        assertThat(actualItems.get(0).getComments().size(), equalTo(1));
+        return new long[]{statistics.getPrepareStatementCount(), statistics.getEntityLoadCount()};
+    }
+
+    private User persistUser(String email) {
+        User user = User.builder()
+                .name(email)
+                .email(email)
+                .build();
+        entityManager.persist(user);
+        return user;
+    }
+
+    private void persistItems(String name, int count, User owner, User booker) {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < count; i++) {
+            Item item = Item.builder()
+                    .name(name)
+                    .description(name + " description")
+                    .available(true)
+                    .owner(owner)
+                    .build();
+            entityManager.persist(item);
+            for (int days = -2; days <= 2; days++) {
+                entityManager.persist(Booking.builder()
+                        .item(item)
+                        .booker(booker)
+                        .start(now.plusDays(days).plusHours(1))
+                        .end(now.plusDays(days).plusHours(2))
+                        .status(BookingStatus.APPROVED)
+                        .build());
+            }
+            entityManager.persist(Comment.builder()
+                    .text("Comment")
+                    .item(item)
+                    .author(booker)
+                    .created(now)
+                    .build());
+        }
+    }
 }
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,19 +11,23 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.storage.BookingRepository;
+import ru.practicum.shareit.cache.LocalCacheProperties;
 import ru.practicum.shareit.exception.AccessDeniedException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.SqlItemSearchEngine;
 import ru.practicum.shareit.item.storage.CommentRepository;
 import ru.practicum.shareit.item.storage.ItemRepository;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.storage.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserCache;
 import ru.practicum.shareit.user.storage.UserRepository;
 
 import java.time.LocalDateTime;
@@ -43,11 +48,15 @@ public class ItemServiceImplTest {
     @Mock
     private UserRepository userRepository;
     @Mock
+    private UserCache userCache;
+    @Mock
     private BookingRepository bookingRepository;
     @Mock
     private CommentRepository commentRepository;
     @Mock
     private ItemRequestRepository itemRequestRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
     private User user2;
     private ItemRequest itemRequest1;
     private Item item1;
@@ -58,8 +67,10 @@ public class ItemServiceImplTest {
     @BeforeEach
     void beforeEach() {
         itemService = new ItemServiceImpl(
-                itemRepository, userRepository, bookingRepository, commentRepository, itemRequestRepository,
-                itemMapper, commentMapper);
+                itemRepository, userRepository, userCache, bookingRepository, commentRepository, itemRequestRepository,
+                itemMapper, commentMapper, new SqlItemSearchEngine(itemRepository, false),
+                new ItemCache(itemRepository, bookingRepository, commentRepository, itemMapper, transactionManager,
+                        new LocalCacheProperties(), new SimpleMeterRegistry()));
         User user1 = User.builder()
                 .id(1L)
                 .name("User1 name")
@@ -113,8 +124,11 @@ public class ItemServiceImplTest {
         ItemRequestDto createItemDto = itemMapper.toItemRequestDto(item1);
         Long userId = item1.getOwner().getId();
         Mockito
-                .when(userRepository.findById(userId))
-                .thenReturn(Optional.of(item1.getOwner()));
+                .when(userCache.exists(userId))
+                .thenReturn(true);
+        Mockito
+                .when(userRepository.getReferenceById(userId))
+                .thenReturn(item1.getOwner());
         Mockito
                 .when(itemRepository.save(Mockito.any(Item.class)))
                 .thenAnswer(invocationOnMock -> {
@@ -128,11 +142,13 @@ public class ItemServiceImplTest {
         assertThat(actualItemDto.getId(), equalTo(newItemId));
         assertThat(actualItemDto.getName(), equalTo(item1.getName()));
         assertThat(actualItemDto.getRequestId(), equalTo(null));
+        Mockito.verify(userCache, Mockito.times(1))
+                .exists(userId);
         Mockito.verify(userRepository, Mockito.times(1))
-                .findById(userId);
+                .getReferenceById(userId);
         Mockito.verify(itemRepository, Mockito.times(1))
                 .save(Mockito.any(Item.class));
-        Mockito.verifyNoMoreInteractions(userRepository, itemRepository);
+        Mockito.verifyNoMoreInteractions(userCache, userRepository, itemRepository);
     }
 
     @Test
@@ -142,8 +158,11 @@ public class ItemServiceImplTest {
         ItemRequestDto createItemDto = itemMapper.toItemRequestDto(item2);
         Long userId = item2.getOwner().getId();
         Mockito
-                .when(userRepository.findById(userId))
-                .thenReturn(Optional.of(item2.getOwner()));
+                .when(userCache.exists(userId))
+                .thenReturn(true);
+        Mockito
+                .when(userRepository.getReferenceById(userId))
+                .thenReturn(item2.getOwner());
         Mockito
                 .when(itemRequestRepository.findById(createItemDto.getRequestId()))
                 .thenReturn(Optional.of(itemRequest1));
@@ -160,13 +179,15 @@ public class ItemServiceImplTest {
         assertThat(actualItemDto.getId(), equalTo(newItemId));
         assertThat(actualItemDto.getName(), equalTo(item2.getName()));
         assertThat(actualItemDto.getRequestId(), equalTo(item2.getRequest().getId()));
+        Mockito.verify(userCache, Mockito.times(1))
+                .exists(userId);
         Mockito.verify(userRepository, Mockito.times(1))
-                .findById(userId);
+                .getReferenceById(userId);
         Mockito.verify(itemRequestRepository, Mockito.times(1))
                 .findById(createItemDto.getRequestId());
         Mockito.verify(itemRepository, Mockito.times(1))
                 .save(Mockito.any(Item.class));
-        Mockito.verifyNoMoreInteractions(userRepository, itemRepository);
+        Mockito.verifyNoMoreInteractions(userCache, userRepository, itemRepository);
     }
 
     @Test
@@ -300,6 +321,86 @@ public class ItemServiceImplTest {
         Mockito.verifyNoMoreInteractions(itemRepository, bookingRepository, commentRepository);
     }
 
+    @Test
+    void testGetByIdSecondCallServedFromCache() {
+        //given
+        Long itemId = item1.getId();
+        Long userId = item1.getOwner().getId();
+        Mockito.when(itemRepository.findById(itemId))
+                .thenReturn(Optional.of(item1));
+        Mockito.when(bookingRepository.findFirstByItemIdAndStatusAndStartBeforeOrderByStartDesc(
+                        Mockito.anyLong(), Mockito.any(BookingStatus.class), Mockito.any(LocalDateTime.class)))
+                .thenReturn(booking1);
+        Mockito.when(commentRepository.findAllByItemId(itemId))
+                .thenReturn(Collections.singletonList(comment1));
+        itemService.getById(itemId, userId);
+        //when
+        ExtendedItemResponseDto ownerItemDto = itemService.getById(itemId, userId);
+        ExtendedItemResponseDto itemDto = itemService.getById(itemId, user2.getId());
+        //then
+        assertThat(ownerItemDto.getLastBooking().getId(), equalTo(booking1.getId()));
+        assertThat(ownerItemDto.getComments().size(), equalTo(1));
+        assertThat(itemDto.getLastBooking(), equalTo(null));
+        assertThat(itemDto.getComments().size(), equalTo(1));
+        Mockito.verify(itemRepository, Mockito.times(1))
+                .findById(itemId);
+        Mockito.verify(bookingRepository, Mockito.times(1))
+                .findFirstByItemIdAndStatusAndStartBeforeOrderByStartDesc(
+                        Mockito.anyLong(), Mockito.any(BookingStatus.class), Mockito.any(LocalDateTime.class));
+        Mockito.verify(bookingRepository, Mockito.times(1))
+                .findFirstByItemIdAndStatusAndStartAfterOrderByStartAsc(
+                        Mockito.anyLong(), Mockito.any(BookingStatus.class), Mockito.any(LocalDateTime.class));
+        Mockito.verify(commentRepository, Mockito.times(1))
+                .findAllByItemId(itemId);
+        Mockito.verifyNoMoreInteractions(itemRepository, bookingRepository, commentRepository);
+    }
+
+    @Test
+    void testGetAllOwnerItems() {
+        //given
+        Long userId = item1.getOwner().getId();
+        Integer fromElement = 0;
+        Integer size = 20;
+        Page<Item> page = new PageImpl<>(List.of(item1));
+        Mockito.when(itemRepository.findAllByOwnerId(Mockito.anyLong(), Mockito.any(Pageable.class)))
+                .thenReturn(page);
+        Mockito.when(bookingRepository.findLastAndNextByItemIdInAndStatus(
+                        Mockito.eq(List.of(item1.getId())), Mockito.eq(BookingStatus.APPROVED),
+                        Mockito.any(LocalDateTime.class)))
+                .thenReturn(Collections.singletonList(booking1));
+        Mockito.when(commentRepository.findAllByItemIdIn(List.of(item1.getId())))
+                .thenReturn(Collections.singletonList(comment1));
+        //when
+        List<ExtendedItemResponseDto> actualItems = itemService.getAllOwnerItems(userId, fromElement, size);
+        //then
+        assertThat(actualItems.size(), equalTo(1));
+        assertThat(actualItems.get(0).getId(), equalTo(item1.getId()));
+        assertThat(actualItems.get(0).getComments().size(), equalTo(1));
+        assertThat(actualItems.get(0).getLastBooking().getId(), equalTo(booking1.getId()));
+        assertThat(actualItems.get(0).getNextBooking(), equalTo(null));
+        Mockito.verify(itemRepository, Mockito.times(1))
+                .findAllByOwnerId(Mockito.anyLong(), Mockito.any(Pageable.class));
+        Mockito.verify(bookingRepository, Mockito.times(1))
+                .findLastAndNextByItemIdInAndStatus(
+                        Mockito.anyCollection(), Mockito.any(BookingStatus.class), Mockito.any(LocalDateTime.class));
+        Mockito.verify(commentRepository, Mockito.times(1))
+                .findAllByItemIdIn(Mockito.anyCollection());
+        Mockito.verifyNoMoreInteractions(bookingRepository, commentRepository, itemRepository);
+    }
+
+    @Test
+    void testGetAllOwnerItemsEmptyPage() {
+        //given
+        Long userId = item1.getOwner().getId();
+        Mockito.when(itemRepository.findAllByOwnerId(Mockito.anyLong(), Mockito.any(Pageable.class)))
+                .thenReturn(Page.empty());
+        //when
+        List<ExtendedItemResponseDto> actualItems = itemService.getAllOwnerItems(userId, 0, 20);
+        //then
+        assertThat(actualItems.size(), equalTo(0));
+        Mockito.verifyNoInteractions(bookingRepository, commentRepository);
+    }
+
     @Test
     void testFindAvailableByText() {
         //given
@@ -307,9 +408,11 @@ public class ItemServiceImplTest {
         Integer fromElement = 0;
         Integer size = 20;
         Page<Item> page = new PageImpl<>(List.of(item1, item2));
-        Mockito.when(bookingRepository.findAllByStatus(BookingStatus.APPROVED))
+        Mockito.when(bookingRepository.findLastAndNextByItemIdInAndStatus(
+                        Mockito.eq(List.of(item1.getId(), item2.getId())), Mockito.eq(BookingStatus.APPROVED),
+                        Mockito.any(LocalDateTime.class)))
                 .thenReturn(Collections.singletonList(booking1));
-        Mockito.when(commentRepository.findAll())
+        Mockito.when(commentRepository.findAllByItemIdIn(List.of(item1.getId(), item2.getId())))
                 .thenReturn(Collections.singletonList(comment1));
         Mockito.when(itemRepository.searchAvailByText(Mockito.anyString(), Mockito.any(Pageable.class)))
                 .thenReturn(page);
@@ -326,9 +429,10 @@ public class ItemServiceImplTest {
         assertThat(actualItems.get(1).getLastBooking(), equalTo(null));
         assertThat(actualItems.get(1).getNextBooking(), equalTo(null));
         Mockito.verify(bookingRepository, Mockito.times(1))
-                .findAllByStatus(BookingStatus.APPROVED);
+                .findLastAndNextByItemIdInAndStatus(
+                        Mockito.anyCollection(), Mockito.any(BookingStatus.class), Mockito.any(LocalDateTime.class));
         Mockito.verify(commentRepository, Mockito.times(1))
-                .findAll();
+                .findAllByItemIdIn(Mockito.anyCollection());
         Mockito.verify(itemRepository, Mockito.times(1))
                 .searchAvailByText(Mockito.anyString(), Mockito.any(Pageable.class));
         Mockito.verifyNoMoreInteractions(bookingRepository, commentRepository, itemRepository);
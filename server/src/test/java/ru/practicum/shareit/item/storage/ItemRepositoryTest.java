@@ -6,7 +6,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
 import ru.practicum.shareit.user.model.User;
 
 import java.util.List;
@@ -75,6 +77,31 @@ class ItemRepositoryTest {
         assertThat(items.get(1).getOwner().getEmail(), is(item2.getOwner().getEmail()));
     }
 
+    @Test
+    void findAllByOwnerIdFromUnalignedOffset() {
+        Long ownerId = user1.getId();
+
+        Slice<Item> firstItem = itemRepository.findAllByOwnerId(ownerId, OffsetPageRequest.of(0, 1));
+        Slice<Item> secondItem = itemRepository.findAllByOwnerId(ownerId, OffsetPageRequest.of(1, 5));
+
+        assertThat(firstItem.getContent().size(), is(1));
+        assertThat(firstItem.getContent().get(0).getId(), is(item1.getId()));
+        assertThat(firstItem.hasNext(), is(true));
+        assertThat(secondItem.getContent().size(), is(1));
+        assertThat(secondItem.getContent().get(0).getId(), is(item2.getId()));
+        assertThat(secondItem.hasNext(), is(false));
+    }
+
+    @Test
+    void searchAvailByTextPagesInIdOrder() {
+        Slice<Item> firstItem = itemRepository.searchAvailByText("description", OffsetPageRequest.of(0, 1));
+        Slice<Item> secondItem = itemRepository.searchAvailByText("description", OffsetPageRequest.of(1, 1));
+
+        assertThat(firstItem.getContent().get(0).getId(), is(item1.getId()));
+        assertThat(secondItem.getContent().get(0).getId(), is(item2.getId()));
+        assertThat(secondItem.hasNext(), is(false));
+    }
+
     @Test
     void searchAvailByText() {
         String text = "name";
@@ -0,0 +1,72 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.user.dto.UserResponseDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@ExtendWith(MockitoExtension.class)
+public class ServiceMetricsAspectTest {
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    @Mock
+    private UserService userService;
+    private UserService proxy;
+
+    @BeforeEach
+    void beforeEach() {
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(userService);
+        proxyFactory.addAspect(new ServiceMetricsAspect(meterRegistry));
+        proxy = proxyFactory.getProxy();
+    }
+
+    @Test
+    void testListingCallIsTimedAndRowsRecorded() {
+        //given
+        Mockito
+                .when(userService.getAll())
+                .thenReturn(List.of(new UserResponseDto(), new UserResponseDto()));
+        //when
+        proxy.getAll();
+        //then
+        assertThat(meterRegistry.get("shareit.service")
+                .tag("method", "getAll")
+                .tag("exception", "none")
+                .timer()
+                .count(), equalTo(1L));
+        assertThat(meterRegistry.get("shareit.service.rows")
+                .tag("method", "getAll")
+                .summary()
+                .totalAmount(), equalTo(2.0));
+    }
+
+    @Test
+    void testFailedCallIsTaggedWithException() {
+        //given
+        Mockito
+                .when(userService.getById(99L))
+                .thenThrow(new NotFoundException("User ID = 99 not found!"));
+        //when
+        assertThrows(NotFoundException.class, () -> proxy.getById(99L));
+        //then
+        assertThat(meterRegistry.get("shareit.service")
+                .tag("method", "getById")
+                .tag("exception", "NotFoundException")
+                .timer()
+                .count(), equalTo(1L));
+        assertThat(meterRegistry.find("shareit.service.rows").summary(), equalTo(null));
+    }
+}
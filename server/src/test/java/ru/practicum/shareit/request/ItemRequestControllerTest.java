@@ -8,6 +8,7 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.request.dto.ItemRequestMapper;
 import ru.practicum.shareit.request.dto.ItemRequestMapperImpl;
@@ -16,6 +17,7 @@ import ru.practicum.shareit.request.service.ItemRequestService;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -162,8 +164,26 @@ class ItemRequestControllerTest {
                 .andExpect(jsonPath("$.description", is(itemRequest1.getDescription())))
                 .andExpect(jsonPath("$.created", notNullValue()))
                 .andExpect(jsonPath("$.items").hasJsonPath());
-        Mockito.verify(requestService, Mockito.only())
+        Mockito.verify(requestService, Mockito.times(1))
+                .getEtag(requestId, userId);
+        Mockito.verify(requestService, Mockito.times(1))
                 .getById(requestId, userId);
         Mockito.verifyNoMoreInteractions(requestService);
     }
+
+    @SneakyThrows
+    @Test
+    void getById_whenVersionETagMatches_thenNotModifiedWithoutLoading() {
+        Long requestId = itemRequest1.getId();
+        Long userId = user1.getId();
+        Mockito
+                .when(requestService.getEtag(requestId, userId))
+                .thenReturn(Optional.of("0-2-1"));
+        mockMvc.perform(get("/requests/{requestId}", requestId)
+                        .header("X-Sharer-User-Id", userId)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"0-2-1\""))
+                .andExpect(status().isNotModified());
+        Mockito.verify(requestService, Mockito.never())
+                .getById(Mockito.any(), Mockito.any());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,104 @@
+package ru.practicum.shareit.request.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.request.dto.ItemRequestWithItemsDto;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/*
+ * Run with: mvn -pl server test -Dtest=ItemRequestServiceImplBenchmarkTest -Dbenchmark=true
+ */
+@Slf4j
+@Transactional
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = {"logging.level.org.hibernate.SQL=INFO",
+                "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO",
+                "logging.level.org.springframework.transaction.interceptor=INFO",
+                "logging.level.org.springframework.orm.jpa.JpaTransactionManager=INFO",
+                "logging.level.ru.practicum=INFO"})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class ItemRequestServiceImplBenchmarkTest {
+    private static final int PAGE_SIZE = 20;
+    private static final int ITEMS_PER_PAGED_REQUEST = 3;
+    private static final int UNRELATED_REQUESTS = 1000;
+    private static final int BATCH_SIZE = 10_000;
+    private static final int RUNS = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ItemRequestService itemRequestService;
+
+    @Test
+    void benchmarkGetAllByPagesWithGrowingItemCount() {
+        long requesterId = insertUser("requester@email.com");
+        long responderId = insertUser("responder@email.com");
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            long requestId = insertRequest(requesterId, now.minusMinutes(i));
+            insertItems(responderId, new long[]{requestId}, ITEMS_PER_PAGED_REQUEST);
+        }
+        long[] unrelatedRequestIds = new long[UNRELATED_REQUESTS];
+        for (int i = 0; i < UNRELATED_REQUESTS; i++) {
+            unrelatedRequestIds[i] = insertRequest(responderId, now.minusDays(1));
+        }
+
+        int itemCount = 0;
+        for (int targetCount : new int[]{10_000, 100_000, 1_000_000}) {
+            insertItems(responderId, unrelatedRequestIds, targetCount - itemCount);
+            itemCount = targetCount;
+
+            long[] timings = new long[RUNS];
+            for (int run = -RUNS; run < RUNS; run++) {
+                long started = System.nanoTime();
+                List<ItemRequestWithItemsDto> page = itemRequestService.getAllByPages(responderId, 0, PAGE_SIZE);
+                long elapsed = System.nanoTime() - started;
+                assertThat(page.size(), equalTo(PAGE_SIZE));
+                assertThat(page.get(0).getItems().size(), equalTo(ITEMS_PER_PAGED_REQUEST));
+                if (run >= 0) {
+                    timings[run] = elapsed;
+                }
+            }
+            Arrays.sort(timings);
+            log.info("getAllByPages with {} unrelated items: p50 = {} us, p95 = {} us",
+                    itemCount, timings[RUNS / 2] / 1000, timings[RUNS * 95 / 100] / 1000);
+        }
+    }
+
+    private long insertUser(String email) {
+        jdbcTemplate.update("INSERT INTO users (name, email) VALUES (?, ?)", email, email);
+        return jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", Long.class, email);
+    }
+
+    private long insertRequest(long requesterId, LocalDateTime created) {
+        jdbcTemplate.update("INSERT INTO requests (description, requestor_id, created) VALUES (?, ?, ?)",
+                "Request description", requesterId, Timestamp.valueOf(created));
+        return jdbcTemplate.queryForObject("SELECT MAX(id) FROM requests", Long.class);
+    }
+
+    private void insertItems(long ownerId, long[] requestIds, int count) {
+        for (int from = 0; from < count; from += BATCH_SIZE) {
+            List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+            for (int i = from; i < Math.min(count, from + BATCH_SIZE); i++) {
+                batch.add(new Object[]{"Item " + i, "Item description", true, ownerId,
+                        requestIds[i % requestIds.length]});
+            }
+            jdbcTemplate.batchUpdate(
+                    "INSERT INTO items (name, description, is_available, owner_id, request_id) VALUES (?, ?, ?, ?, ?)",
+                    batch);
+        }
+    }
+}
@@ -1,27 +1,36 @@
 package ru.practicum.shareit.request.service;
 
 import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.item.dto.ItemRequestDto;
+import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.request.dto.ItemRequestWithItemsDto;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.dto.UserRequestDto;
 import ru.practicum.shareit.user.dto.UserResponseDto;
+import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
+import javax.persistence.EntityManager;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
 
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.MatcherAssert.assertThat;
 
 @Transactional
-@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 public class ItemRequestServiceImplIntegrationTest {
+    private final EntityManager entityManager;
     private final UserService userService;
     private final ItemService itemService;
     private final ItemRequestService itemRequestService;
@@ -68,4 +77,108 @@ public class ItemRequestServiceImplIntegrationTest {
         assertThat(actualRequest.getCreated(), equalTo(itemRequest.getCreated()));
         assertThat(actualRequest.getItems().size(), equalTo(2));
     }
+
+    @Test
+    void testGetEtagChangesWhenRequestItemsChange() {
+        //given
+        UserResponseDto requester = userService.addNew(UserRequestDto.builder()
+                .name("User 1 name")
+                .email("user1@email.com")
+                .build());
+        UserResponseDto owner = userService.addNew(UserRequestDto.builder()
+                .name("User 2 name")
+                .email("user2@email.com")
+                .build());
+        ItemRequest itemRequest = itemRequestService.addNew(
+                ItemRequest.builder()
+                        .description("ItemRequest 1 description")
+                        .created(LocalDateTime.now())
+                        .build(),
+                requester.getId());
+        entityManager.flush();
+        String emptyEtag = itemRequestService.getEtag(itemRequest.getId(), requester.getId()).orElseThrow();
+        Long itemId = itemService.addNew(
+                ItemRequestDto.builder()
+                        .name("Item 1 name")
+                        .description("Item 1 description")
+                        .available(true)
+                        .requestId(itemRequest.getId())
+                        .build(),
+                owner.getId()).getId();
+        entityManager.flush();
+        String addedEtag = itemRequestService.getEtag(itemRequest.getId(), requester.getId()).orElseThrow();
+        //when
+        itemService.patchUpdate(ItemRequestDto.builder().name("Item 1 new name").build(), itemId, owner.getId());
+        entityManager.flush();
+        String updatedEtag = itemRequestService.getEtag(itemRequest.getId(), requester.getId()).orElseThrow();
+        //then
+        assertThat(emptyEtag, equalTo("0-0-0"));
+        assertThat(addedEtag, equalTo("0-1-0"));
+        assertThat(updatedEtag, equalTo("0-1-1"));
+        assertThat(itemRequestService.getEtag(itemRequest.getId() + 1000, requester.getId()).isPresent(),
+                equalTo(false));
+    }
+
+    @Test
+    void testGetAllByPagesLoadsOnlyItemsOfPageRequests() {
+        //given
+        User requester = persistUser("requester@email.com");
+        User responder = persistUser("responder@email.com");
+        ItemRequest pagedRequest = persistRequest(requester, LocalDateTime.now());
+        persistItems(responder, pagedRequest, 2);
+        ItemRequest olderRequest = persistRequest(requester, LocalDateTime.now().minusDays(1));
+        persistItems(responder, olderRequest, 30);
+        //when
+        long itemLoads = countItemLoads(() -> itemRequestService.getAllByPages(responder.getId(), 0, 1));
+        persistItems(responder, olderRequest, 30);
+        long itemLoadsWithMoreUnrelatedItems = countItemLoads(() ->
+                itemRequestService.getAllByPages(responder.getId(), 0, 1));
+        //then
+        assertThat(itemLoads, equalTo(2L));
+        assertThat(itemLoadsWithMoreUnrelatedItems, equalTo(itemLoads));
+    }
+
+    private long countItemLoads(Supplier<List<ItemRequestWithItemsDto>> page) {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+        List<ItemRequestWithItemsDto> requests = page.get();
+        assertThat(requests.size(), equalTo(1));
+        assertThat(requests.get(0).getItems().size(), equalTo(2));
+        return statistics.getEntityStatistics(Item.class.getName()).getLoadCount();
+    }
+
+    private User persistUser(String email) {
+        User user = User.builder()
+                .name(email)
+                .email(email)
+                .build();
+        entityManager.persist(user);
+        return user;
+    }
+
+    private ItemRequest persistRequest(User requester, LocalDateTime created) {
+        ItemRequest itemRequest = ItemRequest.builder()
+                .description("ItemRequest description")
+                .requester(requester)
+                .created(created)
+                .build();
+        entityManager.persist(itemRequest);
+        return itemRequest;
+    }
+
+    private void persistItems(User owner, ItemRequest itemRequest, int count) {
+        for (int i = 0; i < count; i++) {
+            entityManager.persist(Item.builder()
+                    .name("Item " + i)
+                    .description("Item description")
+                    .available(true)
+                    .owner(owner)
+                    .request(itemRequest)
+                    .build());
+        }
+    }
 }
@@ -7,8 +7,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.dto.CommentMapperImpl;
 import ru.practicum.shareit.item.dto.ItemMapper;
@@ -21,6 +21,7 @@ import ru.practicum.shareit.request.dto.ItemRequestWithItemsDto;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.storage.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserCache;
 import ru.practicum.shareit.user.storage.UserRepository;
 
 import java.util.Collections;
@@ -40,6 +41,8 @@ public class ItemRequestServiceImplTest {
     private ItemRepository itemRepo;
     @Mock
     private UserRepository userRepo;
+    @Mock
+    private UserCache userCache;
     private User user1;
     private User user2;
     private User user3;
@@ -50,7 +53,8 @@ public class ItemRequestServiceImplTest {
 
     @BeforeEach
     void beforeEach() {
-        itemRequestService = new ItemRequestServiceImpl(itemRequestRepo, userRepo, itemRepo, itemRequestMapper, itemMapper);
+        itemRequestService = new ItemRequestServiceImpl(
+                itemRequestRepo, userRepo, userCache, itemRepo, itemRequestMapper, itemMapper);
         user1 = User.builder()
                 .id(1L)
                 .name("User1 name")
@@ -100,10 +104,10 @@ public class ItemRequestServiceImplTest {
         //given
         Long requesterId = user1.getId();
         Mockito
-                .when(userRepo.existsById(requesterId))
+                .when(userCache.exists(requesterId))
                 .thenReturn(true);
         Mockito
-                .when((itemRepo.findAllByRequestIdNotNull()))
+                .when(itemRepo.findAllByRequestIdIn(List.of(itemRequest1.getId(), itemRequest2.getId())))
                 .thenReturn(List.of(item1, item2));
         Mockito
                 .when(itemRequestRepo.findAllByRequesterId(requesterId))
@@ -119,13 +123,13 @@ public class ItemRequestServiceImplTest {
         assertThat(actualItemRequestWithItems.get(0).getItems().get(1).getId(), equalTo(item2.getId()));
         assertThat(actualItemRequestWithItems.get(1).getId(), equalTo(itemRequest2.getId()));
         assertThat(actualItemRequestWithItems.get(1).getItems().size(), equalTo(0));
-        Mockito.verify(userRepo, Mockito.times(1))
-                .existsById(requesterId);
+        Mockito.verify(userCache, Mockito.times(1))
+                .exists(requesterId);
         Mockito.verify(itemRepo, Mockito.times(1))
-                .findAllByRequestIdNotNull();
+                .findAllByRequestIdIn(List.of(itemRequest1.getId(), itemRequest2.getId()));
         Mockito.verify(itemRequestRepo, Mockito.times(1))
                 .findAllByRequesterId(requesterId);
-        Mockito.verifyNoMoreInteractions(userRepo, itemRepo, itemRequestRepo);
+        Mockito.verifyNoMoreInteractions(userCache, userRepo, itemRepo, itemRequestRepo);
     }
 
     @Test
@@ -133,11 +137,8 @@ public class ItemRequestServiceImplTest {
         //given
         Long requesterId = user3.getId();
         Mockito
-                .when(userRepo.existsById(requesterId))
+                .when(userCache.exists(requesterId))
                 .thenReturn(true);
-        Mockito
-                .when((itemRepo.findAllByRequestIdNotNull()))
-                .thenReturn(List.of(item1, item2));
         Mockito
                 .when(itemRequestRepo.findAllByRequesterId(requesterId))
                 .thenReturn(Collections.emptyList());
@@ -146,13 +147,12 @@ public class ItemRequestServiceImplTest {
                 itemRequestService.getAllOwn(requesterId);
         //then
         assertThat(actualItemRequestWithItems.size(), equalTo(0));
-        Mockito.verify(userRepo, Mockito.times(1))
-                .existsById(requesterId);
-        Mockito.verify(itemRepo, Mockito.times(1))
-                .findAllByRequestIdNotNull();
+        Mockito.verify(userCache, Mockito.times(1))
+                .exists(requesterId);
+        Mockito.verifyNoInteractions(itemRepo);
         Mockito.verify(itemRequestRepo, Mockito.times(1))
                 .findAllByRequesterId(requesterId);
-        Mockito.verifyNoMoreInteractions(userRepo, itemRepo, itemRequestRepo);
+        Mockito.verifyNoMoreInteractions(userCache, userRepo, itemRepo, itemRequestRepo);
     }
 
     @Test
@@ -160,7 +160,7 @@ public class ItemRequestServiceImplTest {
         //given
         Long requesterId = 99L;
         Mockito
-                .when(userRepo.existsById(requesterId))
+                .when(userCache.exists(requesterId))
                 .thenReturn(false);
         //when
         //then
@@ -175,10 +175,10 @@ public class ItemRequestServiceImplTest {
         Long userId = user2.getId();
         Integer fromElement = 0;
         Integer size = 20;
-        Mockito.when(itemRepo.findAllByRequestIdNotNull())
+        Mockito.when(itemRepo.findAllByRequestIdIn(List.of(itemRequest1.getId(), itemRequest2.getId())))
                 .thenReturn(List.of(item1, item2));
         Mockito.when(itemRequestRepo.findAllByRequesterIdNot(Mockito.anyLong(), Mockito.any(Pageable.class)))
-                .thenReturn(new PageImpl<>(List.of(itemRequest1, itemRequest2)));
+                .thenReturn(new SliceImpl<>(List.of(itemRequest1, itemRequest2)));
         //when
         List<ItemRequestWithItemsDto> actualItemRequests = itemRequestService.getAllByPages(userId, fromElement, size);
         //then
@@ -190,9 +190,9 @@ public class ItemRequestServiceImplTest {
         assertThat(actualItemRequests.get(1).getId(), equalTo(itemRequest2.getId()));
         assertThat(actualItemRequests.get(1).getItems().size(), equalTo(0));
         Mockito.verify(itemRepo, Mockito.times(1))
-                .findAllByRequestIdNotNull();
+                .findAllByRequestIdIn(List.of(itemRequest1.getId(), itemRequest2.getId()));
         Mockito.verify(itemRequestRepo, Mockito.times(1))
                 .findAllByRequesterIdNot(Mockito.anyLong(), Mockito.any(Pageable.class));
-        Mockito.verifyNoMoreInteractions(userRepo, itemRepo, itemRequestRepo);
+        Mockito.verifyNoMoreInteractions(userCache, userRepo, itemRepo, itemRequestRepo);
     }
 }
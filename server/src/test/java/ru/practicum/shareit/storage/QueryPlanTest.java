@@ -0,0 +1,184 @@
+package ru.practicum.shareit.storage;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.storage.BookingRepository;
+import ru.practicum.shareit.item.storage.CommentRepository;
+import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.request.storage.ItemRequestRepository;
+
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.not;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+        "ru.practicum.shareit.storage.QueryPlanTest$RecordingStatementInspector")
+class QueryPlanTest {
+    private static final List<String> STATEMENTS = new ArrayList<>();
+    private static final Pattern LARGE_TABLE_SCAN =
+            Pattern.compile("PUBLIC\\.(BOOKINGS|ITEMS|COMMENTS|REQUESTS)\\.tableScan");
+    private static final int USERS = 100;
+    private static final int ITEMS_PER_USER = 10;
+    private static final int BOOKINGS_PER_ITEM = 10;
+
+    private final LocalDateTime now = LocalDateTime.now();
+    private final PageRequest page = PageRequest.of(1, 20);
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    @BeforeEach
+    void setUp() {
+        STATEMENTS.clear();
+        Integer seeded = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Integer.class);
+        if (seeded != null && seeded > 0) {
+            return;
+        }
+        Timestamp created = Timestamp.valueOf(now);
+        List<Object[]> users = new ArrayList<>();
+        List<Object[]> requests = new ArrayList<>();
+        List<Object[]> items = new ArrayList<>();
+        List<Object[]> bookings = new ArrayList<>();
+        List<Object[]> comments = new ArrayList<>();
+        long itemId = 0;
+        for (long userId = 1; userId <= USERS; userId++) {
+            users.add(new Object[]{userId, "User " + userId, "user" + userId + "@email.ru"});
+            requests.add(new Object[]{userId, "Request " + userId, userId, created});
+            for (int i = 0; i < ITEMS_PER_USER; i++) {
+                itemId++;
+                items.add(new Object[]{itemId, "Item " + itemId, "Description", true, userId, userId});
+                comments.add(new Object[]{itemId, "Comment", itemId, userId % USERS + 1, created});
+                for (int b = 0; b < BOOKINGS_PER_ITEM; b++) {
+                    Timestamp start = Timestamp.valueOf(now.plusDays(b - BOOKINGS_PER_ITEM / 2));
+                    bookings.add(new Object[]{start, start, itemId, userId % USERS + 1, "APPROVED"});
+                }
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (id, name, email) VALUES (?, ?, ?)", users);
+        jdbcTemplate.batchUpdate("INSERT INTO requests (id, description, requestor_id, created) " +
+                "VALUES (?, ?, ?, ?)", requests);
+        jdbcTemplate.batchUpdate("INSERT INTO items (id, name, description, is_available, owner_id, request_id) " +
+                "VALUES (?, ?, ?, ?, ?, ?)", items);
+        jdbcTemplate.batchUpdate("INSERT INTO comments (id, text, item_id, author_id, created) " +
+                "VALUES (?, ?, ?, ?, ?)", comments);
+        jdbcTemplate.batchUpdate("INSERT INTO bookings (start_date, end_date, item_id, booker_id, status) " +
+                "VALUES (?, ?, ?, ?, ?)", bookings);
+        // ANALYZE commits, so the data set is seeded once and shared by all tests of this context
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    void bookingRepositoryQueriesUseIndexes() {
+        bookingRepository.findAllByBookerIdOrderByStartDesc(1L, page);
+        bookingRepository.findAllByBookerIdAndEndBeforeOrderByStartDesc(1L, now, page);
+        bookingRepository.findAllByBookerIdAndStartAfterOrderByStartDesc(1L, now, page);
+        bookingRepository.findAllByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(1L, now, now, page);
+        bookingRepository.findAllByBookerIdAndStatusOrderByStartDesc(1L, BookingStatus.WAITING, page);
+        bookingRepository.findAllByItemOwnerIdOrderByStartDesc(1L, page);
+        bookingRepository.findAllByItemOwnerIdAndEndBeforeOrderByStartDesc(1L, now, page);
+        bookingRepository.findAllByItemOwnerIdAndStartAfterOrderByStartDesc(1L, now, page);
+        bookingRepository.findAllByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDesc(1L, now, now, page);
+        bookingRepository.findAllByItemOwnerIdAndStatusOrderByStartDesc(1L, BookingStatus.WAITING, page);
+        bookingRepository.findFirstByItemIdAndStatusAndStartBeforeOrderByStartDesc(1L, BookingStatus.APPROVED, now);
+        bookingRepository.findFirstByItemIdAndStatusAndStartAfterOrderByStartAsc(1L, BookingStatus.APPROVED, now);
+        bookingRepository.findLastAndNextByItemIdInAndStatus(List.of(1L, 2L), BookingStatus.APPROVED, now);
+        bookingRepository.existsByItemIdAndBookerIdAndStatusAndEndBefore(1L, 2L, BookingStatus.APPROVED, now);
+        try (Stream<Booking> bookings = bookingRepository.streamAllByItemOwnerIdOrderByStartDesc(1L)) {
+            bookings.findFirst();
+        }
+        for (BookingState state : BookingState.values()) {
+            bookingRepository.findSliceByBookerId(1L, state, now, new BookingCursor(now, 1L), 21);
+            bookingRepository.findSliceByItemOwnerId(1L, state, now, new BookingCursor(now, 1L), 21);
+        }
+
+        assertRecordedStatementsUseIndexes();
+    }
+
+    @Test
+    void itemRepositoryQueriesUseIndexes() {
+        itemRepository.findAllByOwnerId(1L, page);
+        itemRepository.findAllByRequestId(1L);
+        itemRepository.findAllByRequestIdIn(List.of(1L, 2L));
+
+        assertRecordedStatementsUseIndexes();
+    }
+
+    @Test
+    void commentRepositoryQueriesUseIndexes() {
+        commentRepository.findAllByItemId(1L);
+        commentRepository.findAllByItemIdIn(List.of(1L, 2L));
+
+        assertRecordedStatementsUseIndexes();
+    }
+
+    @Test
+    void itemRequestRepositoryQueriesUseIndexes() {
+        itemRequestRepository.findAllByRequesterId(1L);
+
+        assertRecordedStatementsUseIndexes();
+    }
+
+    private void assertRecordedStatementsUseIndexes() {
+        assertThat(STATEMENTS, not(empty()));
+        List<String> scans = new ArrayList<>();
+        for (String sql : new ArrayList<>(STATEMENTS)) {
+            String plan = explain(sql);
+            Matcher matcher = LARGE_TABLE_SCAN.matcher(plan);
+            if (matcher.find()) {
+                scans.add(plan);
+            }
+        }
+        assertThat(scans, empty());
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                ParameterMetaData metaData = statement.getParameterMetaData();
+                for (int i = 1; i <= metaData.getParameterCount(); i++) {
+                    statement.setObject(i, null);
+                }
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    resultSet.next();
+                    return resultSet.getString(1);
+                }
+            }
+        });
+    }
+
+    public static class RecordingStatementInspector implements StatementInspector {
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
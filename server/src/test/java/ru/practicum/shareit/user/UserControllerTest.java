@@ -8,21 +8,28 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.config.EtagConfig;
 import ru.practicum.shareit.user.dto.UserMapper;
 import ru.practicum.shareit.user.dto.UserMapperImpl;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
+import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static org.hamcrest.Matchers.is;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = UserController.class)
+@Import(EtagConfig.class)
 class UserControllerTest {
     private final UserMapper userMapper = new UserMapperImpl();
     @Autowired
@@ -100,6 +107,8 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.id", is(user1.getId()), Long.class))
                 .andExpect(jsonPath("$.name", is(user1.getName())))
                 .andExpect(jsonPath("$.email", is(user1.getEmail())));
+        Mockito.verify(userService, Mockito.times(1))
+                .getEtag(userId);
         Mockito.verify(userService, Mockito.times(1))
                 .getById(userId);
         Mockito.verifyNoMoreInteractions(userService);
@@ -132,4 +141,48 @@ class UserControllerTest {
                 .remove(Mockito.any());
         Mockito.verifyNoMoreInteractions(userService);
     }
-}
\ No newline at end of file
+
+    @SneakyThrows
+    @Test
+    void getById_whenVersionETagMatches_thenNotModifiedWithoutLoading() {
+        Mockito.when(userService.getEtag(user1.getId()))
+                .thenReturn(Optional.of("3"));
+        mockMvc.perform(get("/users/{userId}", user1.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""));
+        Mockito.verify(userService, Mockito.never())
+                .getById(Mockito.any());
+    }
+
+    @SneakyThrows
+    @Test
+    void getById_whenVersionETagChanged_thenOkWithNewETag() {
+        Mockito.when(userService.getEtag(user1.getId()))
+                .thenReturn(Optional.of("4"));
+        Mockito.when(userService.getById(user1.getId()))
+                .thenReturn(userMapper.toUserResponseDto(user1));
+        mockMvc.perform(get("/users/{userId}", user1.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""))
+                .andExpect(jsonPath("$.id", is(user1.getId()), Long.class));
+    }
+
+    @SneakyThrows
+    @Test
+    void getAll_whenETagMatches_thenNotModified() {
+        Mockito.when(userService.getAll())
+                .thenReturn(List.of(userMapper.toUserResponseDto(user1)));
+        String eTag = mockMvc.perform(get("/users"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/users")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag));
+    }
+}
@@ -0,0 +1,116 @@
+package ru.practicum.shareit.user.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.cache.LocalCacheProperties;
+import ru.practicum.shareit.user.dto.UserMapper;
+import ru.practicum.shareit.user.dto.UserMapperImpl;
+import ru.practicum.shareit.user.dto.UserResponseDto;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.storage.UserRepository;
+
+import java.util.Optional;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+@ExtendWith(MockitoExtension.class)
+public class UserCacheTest {
+    private final UserMapper userMapper = new UserMapperImpl();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    @Mock
+    private UserRepository userRepository;
+    private UserCache userCache;
+    private User user1;
+
+    @BeforeEach
+    void beforeEach() {
+        userCache = new UserCache(userRepository, userMapper, new LocalCacheProperties(), meterRegistry);
+        user1 = User.builder()
+                .id(1L)
+                .name("User1 name")
+                .email("user1@email.ru")
+                .build();
+    }
+
+    @Test
+    void testGetLoadsOnceAndCountsHits() {
+        //given
+        Mockito
+                .when(userRepository.findById(user1.getId()))
+                .thenReturn(Optional.of(user1));
+        //when
+        UserResponseDto first = userCache.get(user1.getId()).orElseThrow();
+        UserResponseDto second = userCache.get(user1.getId()).orElseThrow();
+        //then
+        assertThat(first.getName(), equalTo(user1.getName()));
+        assertThat(second.getName(), equalTo(user1.getName()));
+        assertThat(count("cache.gets", "hit"), equalTo(1.0));
+        assertThat(count("cache.gets", "miss"), equalTo(1.0));
+        Mockito.verify(userRepository, Mockito.times(1))
+                .findById(user1.getId());
+        Mockito.verifyNoMoreInteractions(userRepository);
+    }
+
+    @Test
+    void testExistsDoesNotCacheMissingUser() {
+        //given
+        Mockito
+                .when(userRepository.findById(99L))
+                .thenReturn(Optional.empty());
+        //when
+        boolean first = userCache.exists(99L);
+        boolean second = userCache.exists(99L);
+        //then
+        assertThat(first, equalTo(false));
+        assertThat(second, equalTo(false));
+        Mockito.verify(userRepository, Mockito.times(2))
+                .findById(99L);
+    }
+
+    @Test
+    void testEvictReloadsUser() {
+        //given
+        Mockito
+                .when(userRepository.findById(user1.getId()))
+                .thenReturn(Optional.of(user1));
+        userCache.get(user1.getId());
+        user1.setName("New user1 name");
+        //when
+        userCache.evict(user1.getId());
+        UserResponseDto actualUser = userCache.get(user1.getId()).orElseThrow();
+        //then
+        assertThat(actualUser.getName(), equalTo("New user1 name"));
+        Mockito.verify(userRepository, Mockito.times(2))
+                .findById(user1.getId());
+    }
+
+    @Test
+    void testEtagServedFromCachedVersion() {
+        //given
+        user1.setVersion(3L);
+        Mockito
+                .when(userRepository.findById(user1.getId()))
+                .thenReturn(Optional.of(user1));
+        userCache.get(user1.getId());
+        //when
+        String etag = userCache.etag(user1.getId()).orElseThrow();
+        //then
+        assertThat(etag, equalTo("3"));
+        Mockito.verify(userRepository, Mockito.times(1))
+                .findById(user1.getId());
+    }
+
+    private double count(String name, String result) {
+        return meterRegistry.get(name)
+                .tag("result", result)
+                .counter()
+                .count();
+    }
+}
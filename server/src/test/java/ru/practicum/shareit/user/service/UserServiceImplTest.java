@@ -27,6 +27,8 @@ public class UserServiceImplTest {
     private final UserMapper userMapper = new UserMapperImpl();
     @Mock
     private UserRepository userRepository;
+    @Mock
+    private UserCache userCache;
     private UserServiceImpl userService;
 
     private User user1;
@@ -34,7 +36,7 @@ public class UserServiceImplTest {
 
     @BeforeEach
     void beforeEach() {
-        userService = new UserServiceImpl(userRepository, userMapper);
+        userService = new UserServiceImpl(userRepository, userMapper, userCache);
         user1 = User.builder()
                 .id(1L)
                 .name("User1 name")
@@ -69,17 +71,18 @@ public class UserServiceImplTest {
         //given
         Long userId = user1.getId();
         Mockito
-                .when(userRepository.findById(userId))
-                .thenReturn(Optional.of(user1));
+                .when(userCache.get(userId))
+                .thenReturn(Optional.of(userMapper.toUserResponseDto(user1)));
         //when
         UserResponseDto actualUserDto = userService.getById(userId);
         //then
         assertThat(actualUserDto.getId(), equalTo(userId));
         assertThat(actualUserDto.getName(), equalTo(user1.getName()));
         assertThat(actualUserDto.getEmail(), equalTo(user1.getEmail()));
-        Mockito.verify(userRepository, Mockito.times(1))
-                .findById(userId);
-        Mockito.verifyNoMoreInteractions(userRepository);
+        Mockito.verify(userCache, Mockito.times(1))
+                .get(userId);
+        Mockito.verifyNoMoreInteractions(userCache);
+        Mockito.verifyNoInteractions(userRepository);
     }
 
     @Test
@@ -87,7 +90,7 @@ public class UserServiceImplTest {
         //given
         Long userId = 99L;
         Mockito
-                .when(userRepository.findById(userId))
+                .when(userCache.get(userId))
                 .thenReturn(Optional.empty());
         //when
         //then
@@ -141,7 +144,9 @@ public class UserServiceImplTest {
                 .findById(user1Id);
         Mockito.verify(userRepository, Mockito.times(1))
                 .save(user1);
-        Mockito.verifyNoMoreInteractions(userRepository);
+        Mockito.verify(userCache, Mockito.times(1))
+                .evict(user1Id);
+        Mockito.verifyNoMoreInteractions(userRepository, userCache);
     }
 
     @Test
@@ -149,6 +154,8 @@ public class UserServiceImplTest {
         userService.remove(1L);
         Mockito.verify(userRepository, Mockito.times(1))
                 .deleteById(Mockito.any());
-        Mockito.verifyNoMoreInteractions(userRepository);
+        Mockito.verify(userCache, Mockito.times(1))
+                .evict(1L);
+        Mockito.verifyNoMoreInteractions(userRepository, userCache);
     }
 }